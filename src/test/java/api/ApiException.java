@@ -0,0 +1,24 @@
+package api;
+
+/**
+ * Non-2xx answer to a typed API call. Futures returned by the APIs fail with it, wrapped in a
+ * {@link java.util.concurrent.CompletionException} as usual for dependent stages.
+ */
+public class ApiException extends RuntimeException {
+    private final int statusCode;
+    private final String body;
+
+    public ApiException(String method, String uri, int statusCode, String body) {
+        super(method + " " + uri + " returned " + statusCode + ": " + body);
+        this.statusCode = statusCode;
+        this.body = body;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
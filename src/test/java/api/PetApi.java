@@ -0,0 +1,49 @@
+package api;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import models.ModelMappers;
+import models.Pet;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@code /pet} endpoints of {@link PetstoreClient}.
+ */
+public class PetApi {
+    private static final ObjectReader PET = ModelMappers.reader(Pet.class);
+    private static final ObjectReader PETS = ModelMappers.reader(Pet[].class);
+
+    private final PetstoreClient client;
+
+    PetApi(PetstoreClient client) {
+        this.client = client;
+    }
+
+    public CompletableFuture<Pet> create(Pet pet) {
+        return client.send(client.request("/pet")
+                .header("Content-Type", "application/json")
+                .POST(PetstoreClient.json(pet))
+                .build(), PET);
+    }
+
+    public CompletableFuture<Pet> update(Pet pet) {
+        return client.send(client.request("/pet")
+                .header("Content-Type", "application/json")
+                .PUT(PetstoreClient.json(pet))
+                .build(), PET);
+    }
+
+    public CompletableFuture<Pet> get(long petId) {
+        return client.send(client.request("/pet/" + petId).GET().build(), PET);
+    }
+
+    public CompletableFuture<List<Pet>> findByStatus(String status) {
+        return client.<Pet[]>send(client.request("/pet/findByStatus?status=" + PetstoreClient.encode(status)).GET().build(), PETS)
+                .thenApply(List::of);
+    }
+
+    public CompletableFuture<Void> delete(long petId) {
+        return client.send(client.request("/pet/" + petId).DELETE().build(), null);
+    }
+}
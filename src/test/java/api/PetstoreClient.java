@@ -0,0 +1,138 @@
+package api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import models.ModelMappers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Typed, non-blocking Petstore client on {@link HttpClient}. Every call returns at once with a
+ * {@link CompletableFuture} of the deserialized model; sockets are driven by the JDK client's
+ * selector thread and responses are parsed on a single completion thread, so one caller can
+ * keep hundreds of requests in flight without a thread each.
+ * <p>
+ * HTTP/2 is preferred: over TLS it is negotiated with ALPN and all requests to a host are
+ * multiplexed as streams of one connection; on plain http the first request offers an h2c
+ * upgrade. A server that only speaks HTTP/1.1 gets one pooled keep-alive connection per
+ * concurrent request instead, since the JDK client does not pipeline HTTP/1.1.
+ */
+public class PetstoreClient implements AutoCloseable {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUri;
+    private final Duration timeout;
+    private final ExecutorService completionThread;
+    private final HttpClient http;
+    private final PetApi pets;
+    private final StoreApi store;
+    private final UserApi users;
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+
+    public PetstoreClient(String baseUri, HttpClient.Version version, Duration timeout) {
+        this.baseUri = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+        this.timeout = timeout;
+        this.completionThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "petstore-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.http = HttpClient.newBuilder()
+                .version(version)
+                .executor(completionThread)
+                .connectTimeout(timeout)
+                .build();
+        this.pets = new PetApi(this);
+        this.store = new StoreApi(this);
+        this.users = new UserApi(this);
+    }
+
+    public static PetstoreClient create(String baseUri) {
+        return new PetstoreClient(baseUri, HttpClient.Version.HTTP_2, DEFAULT_TIMEOUT);
+    }
+
+    public PetApi pets() {
+        return pets;
+    }
+
+    public StoreApi store() {
+        return store;
+    }
+
+    public UserApi users() {
+        return users;
+    }
+
+    public long getResponses() {
+        return responses.sum();
+    }
+
+    /**
+     * Responses that came back over HTTP/2, i.e. multiplexed on a shared connection.
+     */
+    public long getHttp2Responses() {
+        return http2Responses.sum();
+    }
+
+    HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+    }
+
+    static HttpRequest.BodyPublisher json(Object model) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(ModelMappers.writer(model.getClass()).writeValueAsBytes(model));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize " + model.getClass().getSimpleName(), e);
+        }
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * Sends the request and reads a 2xx body with {@code reader}; a null reader discards it.
+     */
+    <T> CompletableFuture<T> send(HttpRequest request, ObjectReader reader) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response -> {
+            responses.increment();
+            if (response.version() == HttpClient.Version.HTTP_2) {
+                http2Responses.increment();
+            }
+            int status = response.statusCode();
+            if (status < 200 || status >= 300) {
+                throw new ApiException(request.method(), request.uri().toString(), status,
+                        new String(response.body(), StandardCharsets.UTF_8));
+            }
+            if (reader == null) {
+                return null;
+            }
+            try {
+                return reader.readValue(response.body());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable response to " + request.method() + " " + request.uri(), e);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        http.shutdownNow();
+        completionThread.shutdownNow();
+    }
+}
@@ -0,0 +1,44 @@
+package api;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import models.ModelMappers;
+import models.Order;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@code /store} endpoints of {@link PetstoreClient}.
+ */
+public class StoreApi {
+    private static final ObjectReader ORDER = ModelMappers.reader(Order.class);
+    private static final ObjectReader INVENTORY = ModelMappers.mapReader(Integer.class);
+
+    private final PetstoreClient client;
+
+    StoreApi(PetstoreClient client) {
+        this.client = client;
+    }
+
+    public CompletableFuture<Order> placeOrder(Order order) {
+        return client.send(client.request("/store/order")
+                .header("Content-Type", "application/json")
+                .POST(PetstoreClient.json(order))
+                .build(), ORDER);
+    }
+
+    public CompletableFuture<Order> getOrder(long orderId) {
+        return client.send(client.request("/store/order/" + orderId).GET().build(), ORDER);
+    }
+
+    public CompletableFuture<Void> deleteOrder(long orderId) {
+        return client.send(client.request("/store/order/" + orderId).DELETE().build(), null);
+    }
+
+    /**
+     * Pet counts by status.
+     */
+    public CompletableFuture<Map<String, Integer>> inventory() {
+        return client.send(client.request("/store/inventory").GET().build(), INVENTORY);
+    }
+}
@@ -0,0 +1,54 @@
+package api;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import models.ApiResponse;
+import models.ModelMappers;
+import models.User;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@code /user} endpoints of {@link PetstoreClient}. Calls that only acknowledge return the
+ * {@link ApiResponse} envelope; its message carries the new user's id or the login session.
+ */
+public class UserApi {
+    private static final ObjectReader USER = ModelMappers.reader(User.class);
+    private static final ObjectReader API_RESPONSE = ModelMappers.reader(ApiResponse.class);
+
+    private final PetstoreClient client;
+
+    UserApi(PetstoreClient client) {
+        this.client = client;
+    }
+
+    public CompletableFuture<ApiResponse> create(User user) {
+        return client.send(client.request("/user")
+                .header("Content-Type", "application/json")
+                .POST(PetstoreClient.json(user))
+                .build(), API_RESPONSE);
+    }
+
+    public CompletableFuture<User> get(String username) {
+        return client.send(client.request("/user/" + PetstoreClient.encode(username)).GET().build(), USER);
+    }
+
+    public CompletableFuture<ApiResponse> update(String username, User user) {
+        return client.send(client.request("/user/" + PetstoreClient.encode(username))
+                .header("Content-Type", "application/json")
+                .PUT(PetstoreClient.json(user))
+                .build(), API_RESPONSE);
+    }
+
+    public CompletableFuture<ApiResponse> delete(String username) {
+        return client.send(client.request("/user/" + PetstoreClient.encode(username)).DELETE().build(), API_RESPONSE);
+    }
+
+    public CompletableFuture<ApiResponse> login(String username, String password) {
+        return client.send(client.request("/user/login?username=" + PetstoreClient.encode(username)
+                + "&password=" + PetstoreClient.encode(password)).GET().build(), API_RESPONSE);
+    }
+
+    public CompletableFuture<ApiResponse> logout() {
+        return client.send(client.request("/user/logout").GET().build(), API_RESPONSE);
+    }
+}
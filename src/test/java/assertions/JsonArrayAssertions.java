@@ -0,0 +1,148 @@
+package assertions;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.ResponseBody;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.anything;
+
+/**
+ * Assertions over a JSON array that stream it through a Jackson parser instead of building a
+ * GPath tree of the whole response. Only the current element is held in memory, so a
+ * multi-megabyte {@code /pet/findByStatus} result is checked in constant space, and the first
+ * violating element fails the assertion without reading the rest of the stream.
+ * <pre>
+ * JsonArrayAssertions.jsonArray()
+ *         .everyItem("status", is("available"))
+ *         .hasKey("id")
+ *         .count(greaterThan(0L))
+ *         .verify(response.asInputStream());
+ * </pre>
+ * Field names may be dotted paths into nested objects, e.g. {@code "category.name"}. Values are
+ * matched as the Java types GPath would produce: String, Integer or Long, Double, Boolean or null.
+ */
+public final class JsonArrayAssertions {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private final List<ElementCheck> checks = new ArrayList<>();
+    private Matcher<? super Long> count = anything();
+
+    private JsonArrayAssertions() {
+    }
+
+    public static JsonArrayAssertions jsonArray() {
+        return new JsonArrayAssertions();
+    }
+
+    public JsonArrayAssertions everyItem(String field, Matcher<?> matcher) {
+        String[] path = field.split("\\.");
+        checks.add((element, index) -> {
+            JsonNode node = resolve(element, path);
+            Object value = node == null ? null : toJava(node);
+            if (!matcher.matches(value)) {
+                StringDescription description = new StringDescription();
+                description.appendText("element [").appendText(Long.toString(index)).appendText("] ")
+                        .appendText(field).appendText("\nExpected: ").appendDescriptionOf(matcher)
+                        .appendText("\n     but: ");
+                matcher.describeMismatch(value, description);
+                throw new AssertionError(description.appendText("\n element: ").appendText(element.toString()).toString());
+            }
+        });
+        return this;
+    }
+
+    public JsonArrayAssertions hasKey(String field) {
+        String[] path = field.split("\\.");
+        checks.add((element, index) -> {
+            if (resolve(element, path) == null) {
+                throw new AssertionError("element [" + index + "] has no key \"" + field + "\"\n element: " + element);
+            }
+        });
+        return this;
+    }
+
+    public JsonArrayAssertions count(Matcher<? super Long> matcher) {
+        this.count = matcher;
+        return this;
+    }
+
+    public long verify(ResponseBody<?> body) throws IOException {
+        return verify(body.asInputStream());
+    }
+
+    /**
+     * Streams the array from {@code in}, applies every element check and then the count
+     * matcher. Returns the number of elements. The stream is closed.
+     */
+    public long verify(InputStream in) throws IOException {
+        long index = 0;
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new AssertionError("Expected a JSON array but got " + parser.currentToken());
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new AssertionError("JSON array ended after " + index + " elements without ']'");
+                }
+                JsonNode element = MAPPER.readTree(parser);
+                for (ElementCheck check : checks) {
+                    check.apply(element, index);
+                }
+                index++;
+            }
+        }
+        if (!count.matches(index)) {
+            StringDescription description = new StringDescription();
+            description.appendText("element count\nExpected: ").appendDescriptionOf(count).appendText("\n     but: ");
+            count.describeMismatch(index, description);
+            throw new AssertionError(description.toString());
+        }
+        return index;
+    }
+
+    private static JsonNode resolve(JsonNode element, String[] path) {
+        JsonNode node = element;
+        for (String name : path) {
+            node = node.get(name);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private static Object toJava(JsonNode node) {
+        if (node.isNull()) {
+            return null;
+        }
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        if (node.isIntegralNumber()) {
+            return node.canConvertToInt() ? (Object) node.intValue() : (Object) node.longValue();
+        }
+        if (node.isNumber()) {
+            return node.doubleValue();
+        }
+        return node;
+    }
+
+    @FunctionalInterface
+    private interface ElementCheck {
+        void apply(JsonNode element, long index);
+    }
+}
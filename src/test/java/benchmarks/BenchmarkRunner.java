@@ -0,0 +1,32 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks matching the given include pattern once single-threaded and once
+ * with one thread per core, with the GC/allocation and CPU time profilers attached.
+ * Used by the {@code jmh} Maven profile: {@code mvn -Pjmh test -Djmh.include=GeneratorBenchmark}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads : new int[]{1, cores}) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .addProfiler(CpuTimeProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh-result-" + threads + "t.json")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reports the CPU time the benchmark JVM spent per operation, over all its threads, as
+ * {@code cpu.time.norm}. Unlike the primary score this also counts work done off the
+ * benchmark thread, such as I/O threads of an HTTP client or a server running in the same JVM.
+ */
+public class CpuTimeProfiler implements InternalProfiler {
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private long cpuBefore;
+
+    @Override
+    public String getDescription() {
+        return "Process CPU time per operation";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        cpuBefore = os.getProcessCpuTime();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        long cpuNanos = os.getProcessCpuTime() - cpuBefore;
+        long ops = result.getMetadata().getAllOps();
+        double perOp = ops == 0 ? Double.NaN : cpuNanos / 1e3 / ops;
+        return List.of(new ScalarResult("cpu.time.norm", perOp, "us/op", AggregationPolicy.AVG));
+    }
+}
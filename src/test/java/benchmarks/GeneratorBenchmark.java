@@ -0,0 +1,80 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import generators.JsonBuffer;
+import generators.PetGenerator;
+import generators.StoreGenerator;
+import generators.UserGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Benchmark
+    public String randomPet() throws JsonProcessingException {
+        return PetGenerator.generateRandomPet();
+    }
+
+    @Benchmark
+    public String randomOrder() throws JsonProcessingException {
+        return StoreGenerator.generateRandomOrder();
+    }
+
+    @Benchmark
+    public String randomUser() throws JsonProcessingException {
+        return UserGenerator.generateRandomUser();
+    }
+
+    @Benchmark
+    public String userArrayJson(UserBatch batch) throws JsonProcessingException {
+        return UserGenerator.generateUserArrayJson(batch.userCount);
+    }
+
+    @Benchmark
+    public void userArrayStream(UserBatch batch) throws IOException {
+        UserGenerator.writeUserArray(OutputStream.nullOutputStream(), batch.userCount);
+    }
+
+    @Benchmark
+    public int randomPetBytes(Buffer buffer) {
+        return PetGenerator.writeRandomPet(buffer.json.reset()).length();
+    }
+
+    @Benchmark
+    public int randomOrderBytes(Buffer buffer) {
+        return StoreGenerator.writeRandomOrder(buffer.json.reset()).length();
+    }
+
+    @Benchmark
+    public int randomUserBytes(Buffer buffer) {
+        return UserGenerator.writeRandomUser(buffer.json.reset()).length();
+    }
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        final JsonBuffer json = new JsonBuffer();
+    }
+
+    @State(Scope.Benchmark)
+    public static class UserBatch {
+        @Param({"2", "100"})
+        int userCount;
+    }
+}
@@ -0,0 +1,98 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import models.Category;
+import models.ModelMappers;
+import models.Pet;
+import models.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-generator ObjectMapper ("mapper*") against the shared, pre-warmed ModelMappers
+ * registry ("registry*"). The first-request cases run one invocation per fresh JVM; the
+ * registry is initialized in setup, as it is at suite startup, so only the serialization of
+ * the first pet is timed.
+ */
+public class ModelMappersBenchmark {
+
+    public static class Payload {
+        final Pet pet = new Pet(42L, new Category(1L, "Dogs"), "Buddy_1a2b3",
+                new String[]{"https://example.com/photo_1.jpg"}, new Tag[]{new Tag(1L, "friendly")}, "available");
+    }
+
+    /**
+     * Never touches ModelMappers, so the baseline JVM pays for no registry it does not use.
+     */
+    @State(Scope.Thread)
+    public static class MapperPayload extends Payload {
+        ObjectMapper mapper;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            mapper = new ObjectMapper().configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RegistryPayload extends Payload {
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ModelMappers.writer(Pet.class);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public String mapperFirstRequest(MapperPayload payload) throws JsonProcessingException {
+        return payload.mapper.writeValueAsString(payload.pet);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public String registryFirstRequest(RegistryPayload payload) throws JsonProcessingException {
+        return ModelMappers.writer(Pet.class).writeValueAsString(payload.pet);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public String mapperSteadyState(MapperPayload payload) throws JsonProcessingException {
+        return payload.mapper.writeValueAsString(payload.pet);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public String registrySteadyState(RegistryPayload payload) throws JsonProcessingException {
+        return ModelMappers.writer(Pet.class).writeValueAsString(payload.pet);
+    }
+}
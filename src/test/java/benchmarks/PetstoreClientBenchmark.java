@@ -0,0 +1,120 @@
+package benchmarks;
+
+import api.PetstoreClient;
+import client.ConnectionPool;
+import emulator.PetstoreEmulator;
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+import models.Category;
+import models.Pet;
+import models.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * {@code GET /pet/{petId}} deserialized into {@link Pet}, {@value #BATCH} requests at a time:
+ * once through the asynchronous {@link PetstoreClient} from the calling thread alone, once as
+ * blocking RestAssured calls spread over {@value #BLOCKING_THREADS} threads and a pool of as
+ * many connections. Both run against the emulator in the benchmark JVM, so
+ * {@code cpu.time.norm} includes the same server share for both; the difference is the
+ * client's. Set {@code -Dbenchmark.baseUri} to measure against another backend instead.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PetstoreClientBenchmark {
+    static final int BATCH = 256;
+    static final int BLOCKING_THREADS = 64;
+    private static final long PET_ID = 4242L;
+
+    @State(Scope.Benchmark)
+    public static class Backend {
+        PetstoreEmulator emulator;
+        PetstoreClient client;
+        ConnectionPool pool;
+        ExecutorService blockingThreads;
+        String baseUri;
+
+        @Setup
+        public void setUp() throws IOException {
+            baseUri = System.getProperty("benchmark.baseUri");
+            if (baseUri == null) {
+                emulator = PetstoreEmulator.start(0);
+                baseUri = emulator.getBaseUri();
+            }
+            client = PetstoreClient.create(baseUri);
+            client.pets().create(new Pet(PET_ID, new Category(1L, "Dogs"), "Buddy_benchmark",
+                    new String[]{"https://example.com/photo.jpg"}, new Tag[]{new Tag(1L, "friendly")}, "available")).join();
+            pool = new ConnectionPool(BLOCKING_THREADS, BLOCKING_THREADS, 30, 60);
+            blockingThreads = Executors.newFixedThreadPool(BLOCKING_THREADS);
+        }
+
+        RequestSpecification restAssured() {
+            return given().config(RestAssured.config().httpClient(pool.httpClientConfig())).baseUri(baseUri);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            System.out.println();
+            System.out.println(pool.format());
+            blockingThreads.shutdownNow();
+            pool.close();
+            client.close();
+            if (emulator != null) {
+                emulator.close();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Pet asyncClient(Backend backend) {
+        CompletableFuture<?>[] inFlight = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            inFlight[i] = backend.client.pets().get(PET_ID);
+        }
+        CompletableFuture.allOf(inFlight).join();
+        return (Pet) inFlight[BATCH - 1].join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Pet restAssuredBlocking(Backend backend) throws InterruptedException, ExecutionException {
+        @SuppressWarnings("unchecked")
+        Future<Pet>[] inFlight = new Future[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            inFlight[i] = backend.blockingThreads.submit(() -> backend.restAssured()
+                    .pathParam("petId", PET_ID)
+                    .get("/pet/{petId}")
+                    .then().statusCode(200)
+                    .extract().as(Pet.class));
+        }
+        Pet last = null;
+        for (Future<Pet> request : inFlight) {
+            last = request.get();
+        }
+        return last;
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import generators.GenerationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The random draws behind one generated pet, from a {@link Random} shared by all threads as
+ * the generators used to have, and from the calling thread's {@link GenerationContext}
+ * stream. {@link BenchmarkRunner} runs both with one thread and with one per core: the shared
+ * {@code Random} stops scaling as soon as threads compete for its CAS, the per-thread streams
+ * scale with the cores. {@link GeneratorBenchmark} measures the generators built on them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RandomSourceBenchmark {
+    private static final int DRAWS_PER_PET = 24;
+    private static final Random SHARED = new Random();
+
+    @Benchmark
+    public int sharedRandom() {
+        int sum = 0;
+        for (int i = 0; i < DRAWS_PER_PET; i++) {
+            sum += SHARED.nextInt(100);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int generationContext() {
+        SplittableRandom random = GenerationContext.random();
+        int sum = 0;
+        for (int i = 0; i < DRAWS_PER_PET; i++) {
+            sum += random.nextInt(100);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,173 @@
+package cassette;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only view of a recorded cassette. The file is memory-mapped once and indexed by
+ * request key; bodies are handed out as slices of the mapping, so a lookup copies nothing.
+ * When the same request was recorded several times, replays return the recordings in order
+ * and then keep returning the last one, so read-after-write flows see their recorded states.
+ * A request that was never recorded exactly falls back to the recordings with the same
+ * method, path and query, so bodies carrying the clock (order ship dates) still replay. Ids in
+ * paths are not matched loosely: replays run with the recorded generator seed, which makes
+ * them come out the same.
+ */
+public class Cassette implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final Map<String, Recordings> byKey;
+    private final Map<String, Recordings> byRequestLine;
+    private final long seed;
+    private final int size;
+
+    private Cassette(FileChannel channel, MappedByteBuffer mapped, Path file) throws IOException {
+        this.channel = channel;
+        this.mapped = mapped;
+        Map<String, List<Integer>> keys = new HashMap<>();
+        Map<String, List<Integer>> requestLines = new HashMap<>();
+        int records = 0;
+        byte[] magic = new byte[CassetteWriter.MAGIC.length];
+        if (mapped.limit() >= CassetteWriter.HEADER_LENGTH) {
+            mapped.get(0, magic);
+        }
+        if (!Arrays.equals(magic, CassetteWriter.MAGIC)) {
+            throw new IOException("Not a cassette file: " + file);
+        }
+        this.seed = mapped.getLong(magic.length);
+        int position = CassetteWriter.HEADER_LENGTH;
+        int limit = mapped.limit();
+        // A truncated trailing record (interrupted recording) ends the scan.
+        while (position + 8 <= limit) {
+            int record = position;
+            String key = string(position, limit);
+            if (key == null) {
+                break;
+            }
+            position += 4 + mapped.getInt(position) + 4;
+            if (string(position, limit) == null) {
+                break;
+            }
+            position += 4 + mapped.getInt(position);
+            if (position + 4 > limit || mapped.getInt(position) < 0 || position + 4 + mapped.getInt(position) > limit) {
+                break;
+            }
+            position += 4 + mapped.getInt(position);
+            keys.computeIfAbsent(key, k -> new ArrayList<>()).add(record);
+            requestLines.computeIfAbsent(requestLine(key), k -> new ArrayList<>()).add(record);
+            records++;
+        }
+        this.byKey = recordings(keys);
+        this.byRequestLine = recordings(requestLines);
+        this.size = records;
+    }
+
+    public static Cassette open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Cassette larger than 2 GB: " + file);
+            }
+            return new Cassette(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, size), file);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Decodes the length-prefixed string at {@code position}, or null if it runs past {@code limit}.
+     */
+    private String string(int position, int limit) {
+        if (position + 4 > limit) {
+            return null;
+        }
+        int length = mapped.getInt(position);
+        if (length < 0 || position + 4 + length > limit) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        mapped.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Recordings> recordings(Map<String, List<Integer>> offsets) {
+        Map<String, Recordings> result = new HashMap<>(offsets.size() * 2);
+        offsets.forEach((key, list) -> result.put(key, new Recordings(list)));
+        return result;
+    }
+
+    private static String requestLine(String key) {
+        int newline = key.indexOf('\n');
+        return newline < 0 ? key : key.substring(0, newline);
+    }
+
+    /**
+     * Generator seed the cassette was recorded with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The next recorded response for the request, or null when nothing matches it.
+     */
+    public CassetteEntry next(String key) {
+        Recordings recordings = byKey.get(key);
+        if (recordings == null) {
+            recordings = byRequestLine.get(requestLine(key));
+        }
+        return recordings == null ? null : entryAt(recordings.next());
+    }
+
+    private CassetteEntry entryAt(int offset) {
+        int position = offset;
+        position += 4 + mapped.getInt(position);
+        int status = mapped.getInt(position);
+        position += 4;
+        int contentTypeLength = mapped.getInt(position);
+        position += 4;
+        byte[] contentType = new byte[contentTypeLength];
+        mapped.get(position, contentType);
+        position += contentTypeLength;
+        int bodyLength = mapped.getInt(position);
+        position += 4;
+        return new CassetteEntry(status, new String(contentType, StandardCharsets.UTF_8), mapped.slice(position, bodyLength));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static class Recordings {
+        private final int[] offsets;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Recordings(List<Integer> offsets) {
+            this.offsets = offsets.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private int next() {
+            int i = cursor.getAndIncrement();
+            return offsets[Math.min(i < 0 ? Integer.MAX_VALUE : i, offsets.length - 1)];
+        }
+    }
+}
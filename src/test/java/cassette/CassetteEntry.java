@@ -0,0 +1,35 @@
+package cassette;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+public class CassetteEntry {
+    private final int status;
+    private final String contentType;
+    private final ByteBuffer body;
+
+    CassetteEntry(int status, String contentType, ByteBuffer body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Read-only slice of the mapped cassette; the bytes are not copied.
+     */
+    public ByteBuffer getBody() {
+        return body.asReadOnlyBuffer();
+    }
+
+    public InputStream openBody() {
+        return new ByteBufferInputStream(body.duplicate());
+    }
+}
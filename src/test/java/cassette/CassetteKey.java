@@ -0,0 +1,84 @@
+package cassette;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.MultiPartSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Lookup key of a request: method, resolved path, sorted query and form parameters and a
+ * normalized body. JSON bodies are re-serialized with sorted keys and no whitespace so
+ * field order and formatting do not matter; multipart requests are keyed by their part names
+ * and file names, since the boundary changes on every request.
+ */
+final class CassetteKey {
+    private static final ObjectMapper CANONICAL = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private CassetteKey() {
+    }
+
+    static String of(FilterableRequestSpecification requestSpec) {
+        String path = requestSpec.getDerivedPath();
+        Map<String, String> query = new TreeMap<>(requestSpec.getQueryParams());
+        int separator = path.indexOf('?');
+        if (separator >= 0) {
+            for (String pair : path.substring(separator + 1).split("&")) {
+                int equals = pair.indexOf('=');
+                query.put(equals < 0 ? pair : pair.substring(0, equals), equals < 0 ? "" : pair.substring(equals + 1));
+            }
+            path = path.substring(0, separator);
+        }
+        StringBuilder key = new StringBuilder(requestSpec.getMethod()).append(' ').append(path);
+        if (!query.isEmpty()) {
+            key.append('?').append(join(query));
+        }
+        if (!requestSpec.getFormParams().isEmpty()) {
+            key.append("\nform:").append(join(new TreeMap<>(requestSpec.getFormParams())));
+        }
+        if (!requestSpec.getMultiPartParams().isEmpty()) {
+            key.append("\nmultipart:").append(requestSpec.getMultiPartParams().stream()
+                    .map(CassetteKey::describe)
+                    .sorted()
+                    .collect(Collectors.joining(",")));
+        }
+        Object body = requestSpec.getBody();
+        if (body != null) {
+            key.append('\n').append(normalize(body));
+        }
+        return key.toString();
+    }
+
+    private static String join(Map<String, String> params) {
+        return params.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("&"));
+    }
+
+    private static String describe(MultiPartSpecification part) {
+        return part.hasFileName() ? part.getControlName() + ":" + part.getFileName() : part.getControlName();
+    }
+
+    private static String normalize(Object body) {
+        String text;
+        if (body instanceof String) {
+            text = (String) body;
+        } else if (body instanceof byte[]) {
+            text = new String((byte[]) body, StandardCharsets.UTF_8);
+        } else {
+            // Streams and files cannot be read without consuming them; key them by type only.
+            return "<" + body.getClass().getSimpleName() + ">";
+        }
+        try {
+            return CANONICAL.writeValueAsString(CANONICAL.readValue(text, Object.class));
+        } catch (JsonProcessingException e) {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package cassette;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends request/response pairs to a cassette file. Each record is written with a single
+ * channel write, so a crash leaves at most a truncated last record, which {@link Cassette}
+ * ignores.
+ * <p>
+ * Layout: an 8-byte magic, the {@code long} generator seed of the recording, then records of
+ * {@code int keyLength, key, int status, int contentTypeLength, contentType, int bodyLength, body}
+ * with all strings UTF-8 and all numbers big-endian. Replays run with the recorded seed, so the
+ * generated ids and usernames, and with them the request keys, come out the same.
+ */
+public class CassetteWriter implements Closeable {
+    static final byte[] MAGIC = "PSTCAS03".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_LENGTH = MAGIC.length + Long.BYTES;
+
+    private final FileChannel channel;
+
+    /**
+     * Opens {@code file} for appending; a new file gets a header for {@code seed}, an existing
+     * one must have been recorded with the same seed.
+     */
+    public CassetteWriter(Path file, long seed) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.allocate(HEADER_LENGTH).put(MAGIC).putLong(seed).flip());
+            } else {
+                try (Cassette existing = Cassette.open(file)) {
+                    if (existing.getSeed() != seed) {
+                        throw new IOException("Cassette " + file + " was recorded with generator seed "
+                                + existing.getSeed() + ", not " + seed);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public synchronized void append(String key, int status, String contentType, byte[] body) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] contentTypeBytes = (contentType == null ? "" : contentType).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(16 + keyBytes.length + contentTypeBytes.length + body.length)
+                .putInt(keyBytes.length).put(keyBytes)
+                .putInt(status)
+                .putInt(contentTypeBytes.length).put(contentTypeBytes)
+                .putInt(body.length).put(body)
+                .flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
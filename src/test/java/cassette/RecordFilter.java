@@ -0,0 +1,35 @@
+package cassette;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Passes requests through to the live backend and appends every request/response pair to a
+ * {@link CassetteWriter}.
+ */
+public class RecordFilter implements Filter {
+    private final CassetteWriter writer;
+
+    public RecordFilter(CassetteWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String key = CassetteKey.of(requestSpec);
+        Response response = ctx.next(requestSpec, responseSpec);
+        try {
+            writer.append(key, response.getStatusCode(), response.getContentType(), response.asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record " + key, e);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,54 @@
+package cassette;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Answers requests from a {@link Cassette} without touching the network. A request is matched
+ * by its full key or, failing that, by method, path and query alone (see {@link Cassette#next});
+ * one with no recording under either fails instead of silently reaching a live backend.
+ */
+public class ReplayFilter implements Filter {
+    private final Cassette cassette;
+
+    public ReplayFilter(Cassette cassette) {
+        this.cassette = cassette;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String key = CassetteKey.of(requestSpec);
+        // A live request reads a streamed body to the end; generators behind it must advance the same way.
+        if (requestSpec.getBody() instanceof InputStream) {
+            drain((InputStream) requestSpec.getBody(), key);
+        }
+        CassetteEntry entry = cassette.next(key);
+        if (entry == null) {
+            throw new IllegalStateException("No recorded response for request: " + key);
+        }
+        return new ResponseBuilder()
+                .setStatusCode(entry.getStatus())
+                .setStatusLine("HTTP/1.1 " + entry.getStatus())
+                .setContentType(entry.getContentType())
+                .setBody(entry.openBody())
+                .build();
+    }
+
+    private static void drain(InputStream body, String key) {
+        try (body) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the body of " + key, e);
+        }
+    }
+}
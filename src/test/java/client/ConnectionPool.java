@@ -0,0 +1,177 @@
+package client;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared keep-alive connection pool for RestAssured. All requests go through one
+ * {@link DefaultHttpClient} backed by a pooling connection manager, so TCP connections and TLS
+ * sessions are reused instead of being set up per request. Counts how many connections were
+ * opened, how many times one was leased, and how many of those leases got an already open one.
+ * Settings come from {@code http.pool.*} system properties. Requests get the deadlines, hedges
+ * and retries of {@link ResilientHttpClient}.
+ */
+@SuppressWarnings("deprecation")
+public class ConnectionPool implements AutoCloseable {
+    private static final int MAX_PER_ROUTE = Integer.getInteger("http.pool.maxPerRoute", 50);
+    private static final int MAX_TOTAL = Integer.getInteger("http.pool.maxTotal", 200);
+    private static final long IDLE_SECONDS = Long.getLong("http.pool.idleSeconds", 30);
+    private static final long KEEP_ALIVE_SECONDS = Long.getLong("http.pool.keepAliveSeconds", 60);
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder leased = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final CountingConnectionManager connectionManager;
+    private final ResilientHttpClient httpClient;
+    private final ScheduledExecutorService evictor;
+
+    public ConnectionPool() {
+        this(MAX_PER_ROUTE, MAX_TOTAL, IDLE_SECONDS, KEEP_ALIVE_SECONDS);
+    }
+
+    public ConnectionPool(int maxPerRoute, int maxTotal, long idleSeconds, long keepAliveSeconds) {
+        this(maxPerRoute, maxTotal, idleSeconds, keepAliveSeconds, ResiliencePolicy.fromSystemProperties());
+    }
+
+    public ConnectionPool(int maxPerRoute, int maxTotal, long idleSeconds, long keepAliveSeconds, ResiliencePolicy policy) {
+        connectionManager = new CountingConnectionManager(SchemeRegistryFactory.createDefault());
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setMaxTotal(maxTotal);
+
+        httpClient = new ResilientHttpClient(connectionManager, policy);
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+        });
+        // RestAssured never reads a zero-length body, so its streamed entity would keep the
+        // connection leased forever. Swapping in a non-streaming entity lets the client
+        // release it right away.
+        httpClient.addResponseInterceptor((response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity != null && entity.getContentLength() == 0) {
+                ByteArrayEntity empty = new ByteArrayEntity(new byte[0]);
+                empty.setContentType(entity.getContentType());
+                response.setEntity(empty);
+            }
+        });
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleSeconds / 2);
+        evictor.scheduleAtFixedRate(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleSeconds, TimeUnit.SECONDS);
+        }, period, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * RestAssured client configuration that routes every request through this pool.
+     */
+    public HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> httpClient)
+                .reuseHttpClientInstance();
+    }
+
+    public ResilientHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public long getOpened() {
+        return opened.sum();
+    }
+
+    public long getLeased() {
+        return leased.sum();
+    }
+
+    public long getReused() {
+        return reused.sum();
+    }
+
+    public int getLeasedNow() {
+        return connectionManager.getTotalStats().getLeased();
+    }
+
+    public int getAvailableNow() {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+    public String format() {
+        return String.format("HTTP connections: opened=%d leased=%d reused=%d (pool: %d leased, %d idle)%n%s",
+                getOpened(), getLeased(), getReused(), getLeasedNow(), getAvailableNow(), httpClient.format());
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        httpClient.close();
+    }
+
+    private class CountingConnectionManager extends PoolingClientConnectionManager {
+
+        CountingConnectionManager(SchemeRegistry schemeRegistry) {
+            super(schemeRegistry);
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+            return new DefaultClientConnectionOperator(schemeRegistry) {
+                @Override
+                public void openConnection(OperatedClientConnection conn, HttpHost target,
+                                           InetAddress local, HttpContext context, HttpParams params) throws IOException {
+                    super.openConnection(conn, target, local, context, params);
+                    opened.increment();
+                }
+            };
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ClientConnectionRequest request = super.requestConnection(route, state);
+            return new ClientConnectionRequest() {
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                        throws InterruptedException, ConnectionPoolTimeoutException {
+                    ManagedClientConnection connection = request.getConnection(timeout, unit);
+                    leased.increment();
+                    if (connection.isOpen()) {
+                        reused.increment();
+                    }
+                    return connection;
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package client;
+
+import java.io.InterruptedIOException;
+
+/**
+ * A request, including its hedges and retries, did not complete within its deadline.
+ */
+public class DeadlineExceededException extends InterruptedIOException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,65 @@
+package client;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Deadline, hedging and retry settings of {@link ResilientHttpClient}. The defaults come from
+ * {@code http.deadlineMillis}, {@code http.hedge.*} and {@code http.retry.*} system properties.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ResiliencePolicy {
+    /**
+     * Upper bound for a request including every hedge and retry.
+     */
+    @Builder.Default
+    Duration deadline = Duration.ofMillis(Long.getLong("http.deadlineMillis", 30_000));
+
+    @Builder.Default
+    boolean hedging = Boolean.parseBoolean(System.getProperty("http.hedge.enabled", "true"));
+
+    /**
+     * A GET is hedged once it has been running longer than this percentile of its endpoint's
+     * recent latencies.
+     */
+    @Builder.Default
+    double hedgePercentile = Double.parseDouble(System.getProperty("http.hedge.percentile", "95"));
+
+    /**
+     * Samples an endpoint needs before its percentile is trusted; until then nothing is hedged.
+     */
+    @Builder.Default
+    int hedgeMinSamples = Integer.getInteger("http.hedge.minSamples", 20);
+
+    @Builder.Default
+    Duration hedgeMinDelay = Duration.ofMillis(Long.getLong("http.hedge.minDelayMillis", 5));
+
+    @Builder.Default
+    int maxRetries = Integer.getInteger("http.retry.max", 2);
+
+    @Builder.Default
+    Duration retryBackoff = Duration.ofMillis(Long.getLong("http.retry.backoffMillis", 20));
+
+    /**
+     * Extra attempts (hedges and retries) allowed per original request, see {@link RetryBudget}.
+     */
+    @Builder.Default
+    double budgetRatio = Double.parseDouble(System.getProperty("http.retry.budgetRatio", "0.1"));
+
+    @Builder.Default
+    double budgetCapacity = Double.parseDouble(System.getProperty("http.retry.budgetCapacity", "20"));
+
+    /**
+     * Fraction of requests sent as one plain attempt, without hedging or retries. Their latency
+     * is the baseline the delivered latency of the other requests is compared against.
+     */
+    @Builder.Default
+    double baselineSampleRate = Double.parseDouble(System.getProperty("http.baseline.sampleRate", "0.05"));
+
+    public static ResiliencePolicy fromSystemProperties() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,414 @@
+package client;
+
+import metrics.EndpointHistograms;
+import metrics.EndpointSnapshot;
+import org.HdrHistogram.Histogram;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP client that gives every request a deadline, hedges slow idempotent GETs and retries
+ * failed idempotent requests, all within a shared {@link RetryBudget}.
+ *
+ * <p>Every attempt but a hedge runs on the calling thread. A GET that is still running after
+ * its endpoint's observed p95 (see {@link ResiliencePolicy#getHedgePercentile()}) gets a
+ * duplicate on another connection, sent from a pool thread; the first response wins and the
+ * other attempt is aborted, releasing its connection. Connection failures and 502/503/504 are
+ * retried with jittered backoff. When the deadline passes, every outstanding attempt is
+ * aborted and {@link DeadlineExceededException} thrown; a response arriving after that is
+ * discarded.
+ *
+ * <p>An aborted primary attempt never shows how long it would have taken, so the unprotected
+ * latency is measured on a sample instead: {@link ResiliencePolicy#getBaselineSampleRate()} of
+ * the requests get a single attempt and are reported apart from the protected ones.
+ */
+@SuppressWarnings("deprecation")
+public class ResilientHttpClient extends DefaultHttpClient {
+    private static final Set<String> IDEMPOTENT = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(502, 503, 504);
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final int PERCENTILE_REFRESH = 16;
+    private static final String DELIVERED = "delivered";
+    private static final String SINGLE_ATTEMPT = "single attempt";
+
+    private final ResiliencePolicy policy;
+    private final RetryBudget budget;
+    private final ExecutorService hedgeAttempts = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "http-hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledThreadPoolExecutor timers = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "http-timers");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ConcurrentMap<String, EndpointLatency> endpoints = new ConcurrentHashMap<>();
+    private final EndpointHistograms outcomes = new EndpointHistograms();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder budgetDenials = new LongAdder();
+    private final LongAdder deadlinesExceeded = new LongAdder();
+
+    public ResilientHttpClient(ClientConnectionManager connectionManager, ResiliencePolicy policy) {
+        super(connectionManager);
+        this.policy = policy;
+        this.budget = new RetryBudget(policy.getBudgetRatio(), policy.getBudgetCapacity());
+        // Most timers are cancelled long before they are due; don't keep them queued.
+        timers.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpUriRequest request) throws IOException {
+        return execute(request, (HttpContext) null);
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpUriRequest request, HttpContext context) throws IOException {
+        return execute(URIUtils.extractHost(request.getURI()), request, context);
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpHost target, HttpRequest request) throws IOException {
+        return execute(target, request, (HttpContext) null);
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+        long start = System.nanoTime();
+        long deadline = start + policy.getDeadline().toNanos();
+        String method = request.getRequestLine().getMethod();
+        String endpoint = method + " " + ID_SEGMENT.matcher(pathOf(request)).replaceAll("/{id}");
+        boolean idempotent = IDEMPOTENT.contains(method) && repeatable(request);
+        boolean baseline = ThreadLocalRandom.current().nextDouble() < policy.getBaselineSampleRate();
+        String outcome = baseline ? SINGLE_ATTEMPT : DELIVERED;
+        requests.increment();
+        budget.deposit();
+
+        Exchange exchange = new Exchange(target, request, context, endpoint);
+        for (int attempt = 0; ; attempt++) {
+            CloseableHttpResponse response = null;
+            IOException failure = null;
+            try {
+                response = exchange.run(deadline, !baseline && attempt == 0 && policy.isHedging() && method.equals("GET"));
+            } catch (DeadlineExceededException e) {
+                deadlinesExceeded.increment();
+                throw e;
+            } catch (IOException e) {
+                failure = e;
+            }
+            boolean retryable = failure != null || RETRYABLE_STATUS.contains(response.getStatusLine().getStatusCode());
+            if (!retryable || !idempotent || baseline || attempt >= policy.getMaxRetries()) {
+                return deliver(endpoint, outcome, start, response, failure);
+            }
+            if (!budget.tryWithdraw()) {
+                budgetDenials.increment();
+                return deliver(endpoint, outcome, start, response, failure);
+            }
+            if (!backOff(attempt, deadline)) {
+                return deliver(endpoint, outcome, start, response, failure);
+            }
+            retries.increment();
+            if (response != null) {
+                discard(response);
+            }
+        }
+    }
+
+    public ResiliencePolicy getPolicy() {
+        return policy;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getBudgetDenials() {
+        return budgetDenials.sum();
+    }
+
+    public long getDeadlinesExceeded() {
+        return deadlinesExceeded.sum();
+    }
+
+    /**
+     * Latency callers saw: "delivered" for requests with hedging and retries, "single attempt"
+     * for the baseline sample sent without them.
+     */
+    public Map<String, EndpointSnapshot> latencies() {
+        return outcomes.snapshot();
+    }
+
+    public String format() {
+        Map<String, EndpointSnapshot> latencies = latencies();
+        StringBuilder report = new StringBuilder(String.format(
+                "HTTP resilience: requests=%d hedges=%d (won %d) retries=%d budget denials=%d deadlines exceeded=%d",
+                getRequests(), getHedges(), getHedgeWins(), getRetries(), getBudgetDenials(), getDeadlinesExceeded()));
+        EndpointSnapshot delivered = latencies.get(DELIVERED);
+        EndpointSnapshot singleAttempt = latencies.get(SINGLE_ATTEMPT);
+        if (delivered != null) {
+            report.append(String.format("%n  p99 delivered %.1f ms", delivered.percentileMillis(99)));
+        }
+        if (singleAttempt != null) {
+            report.append(String.format("%n  p99 single attempt %.1f ms (%d sampled)",
+                    singleAttempt.percentileMillis(99), singleAttempt.getCount()));
+        }
+        if (delivered != null && singleAttempt != null) {
+            report.append(String.format("%n  p99 improvement %.1f ms",
+                    singleAttempt.percentileMillis(99) - delivered.percentileMillis(99)));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void close() {
+        hedgeAttempts.shutdownNow();
+        timers.shutdownNow();
+        super.close();
+    }
+
+    private CloseableHttpResponse deliver(String endpoint, String outcome, long start, CloseableHttpResponse response,
+                                          IOException failure) throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        long elapsed = System.nanoTime() - start;
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointLatency()).record(elapsed);
+        outcomes.record(outcome, elapsed, response.getStatusLine().getStatusCode() < 500);
+        return response;
+    }
+
+    private boolean backOff(int attempt, long deadline) {
+        long backoff = policy.getRetryBackoff().toNanos() << attempt;
+        long jittered = ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+        if (System.nanoTime() + jittered >= deadline) {
+            return false;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(jittered);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean repeatable(HttpRequest request) {
+        return !(request instanceof HttpEntityEnclosingRequest)
+                || ((HttpEntityEnclosingRequest) request).getEntity() == null
+                || ((HttpEntityEnclosingRequest) request).getEntity().isRepeatable();
+    }
+
+    private static String pathOf(HttpRequest request) {
+        String uri = request instanceof HttpUriRequest
+                ? ((HttpUriRequest) request).getURI().getPath()
+                : request.getRequestLine().getUri();
+        int query = uri.indexOf('?');
+        return query < 0 ? uri : uri.substring(0, query);
+    }
+
+    private static void discard(CloseableHttpResponse response) {
+        try {
+            EntityUtils.consume(response.getEntity());
+            response.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * One caller request and the attempts made for it.
+     */
+    private class Exchange {
+        private final HttpHost target;
+        private final HttpRequest request;
+        private final HttpContext context;
+        private final String endpoint;
+        private final List<HttpRequestBase> running = new CopyOnWriteArrayList<>();
+
+        Exchange(HttpHost target, HttpRequest request, HttpContext context, String endpoint) {
+            this.target = target;
+            this.request = request;
+            this.context = context;
+            this.endpoint = endpoint;
+        }
+
+        CloseableHttpResponse run(long deadline, boolean hedgeable) throws IOException {
+            CompletableFuture<CloseableHttpResponse> winner = new CompletableFuture<>();
+            AtomicInteger pending = new AtomicInteger(1);
+            long remaining = deadline - System.nanoTime();
+            ScheduledFuture<?> expiry = timers.schedule(() -> expire(winner), Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            ScheduledFuture<?> hedge = null;
+            if (hedgeable) {
+                long hedgeDelay = hedgeDelayNanos();
+                if (hedgeDelay > 0 && hedgeDelay < remaining) {
+                    hedge = timers.schedule(() -> hedge(winner, pending), hedgeDelay, TimeUnit.NANOSECONDS);
+                }
+            }
+            try {
+                attempt(copy(request), winner, pending, true);
+                return winner.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                expire(winner);
+                throw new DeadlineExceededException(endpoint + " interrupted");
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+            } finally {
+                expiry.cancel(false);
+                if (hedge != null) {
+                    hedge.cancel(false);
+                }
+            }
+        }
+
+        /**
+         * Runs on a timer thread; the hedge itself goes to a pool thread, as the caller is
+         * blocked in the first attempt.
+         */
+        private void hedge(CompletableFuture<CloseableHttpResponse> winner, AtomicInteger pending) {
+            if (winner.isDone()) {
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                budgetDenials.increment();
+                return;
+            }
+            hedges.increment();
+            pending.incrementAndGet();
+            HttpRequest attempt = copy(request);
+            hedgeAttempts.execute(() -> attempt(attempt, winner, pending, false));
+        }
+
+        private void attempt(HttpRequest attempt, CompletableFuture<CloseableHttpResponse> winner, AtomicInteger pending,
+                             boolean primary) {
+            if (attempt instanceof HttpRequestBase) {
+                running.add((HttpRequestBase) attempt);
+            }
+            if (winner.isDone()) {
+                // A hedge that was handed to the pool just as the exchange completed.
+                running.remove(attempt);
+                return;
+            }
+            // Every attempt gets its own child context: attempts overlap each other and the
+            // caller's next request, and the client writes per-execution attributes into it.
+            HttpContext attemptContext = new BasicHttpContext(context);
+            CloseableHttpResponse response = null;
+            Throwable failure = null;
+            try {
+                response = ResilientHttpClient.super.execute(target, attempt, attemptContext);
+            } catch (Throwable e) {
+                failure = e;
+            }
+            if (attempt instanceof HttpRequestBase) {
+                running.remove(attempt);
+            }
+            if (failure == null) {
+                if (winner.complete(response)) {
+                    if (!primary) {
+                        hedgeWins.increment();
+                    }
+                    // The loser would only hold its connection until it finished.
+                    running.forEach(HttpRequestBase::abort);
+                } else {
+                    // Lost to another attempt or arrived after the deadline: nobody will read it.
+                    discard(response);
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                winner.completeExceptionally(failure);
+            }
+        }
+
+        private void expire(CompletableFuture<CloseableHttpResponse> winner) {
+            if (winner.completeExceptionally(
+                    new DeadlineExceededException(endpoint + " did not complete within " + policy.getDeadline()))) {
+                running.forEach(HttpRequestBase::abort);
+            }
+        }
+
+        private long hedgeDelayNanos() {
+            EndpointLatency latency = endpoints.get(endpoint);
+            long observed = latency == null ? -1 : latency.percentileNanos(policy.getHedgePercentile(), policy.getHedgeMinSamples());
+            return observed < 0 ? -1 : Math.max(observed, policy.getHedgeMinDelay().toNanos());
+        }
+
+        /**
+         * A request of its own for every attempt. Not {@code clone()}: clones share the
+         * original's cancellable, so aborting a losing attempt would abort the winner too.
+         */
+        private HttpRequest copy(HttpRequest original) {
+            return original instanceof HttpUriRequest ? RequestBuilder.copy(original).build() : original;
+        }
+    }
+
+    /**
+     * Latencies delivered for one endpoint. The percentile is recomputed every few samples
+     * rather than per request.
+     */
+    private static class EndpointLatency {
+        private final Histogram histogram = new Histogram(TimeUnit.MINUTES.toMicros(5), 2);
+        private long cachedPercentileNanos = -1;
+        private double cachedPercentile;
+        private long samplesAtCache;
+
+        synchronized void record(long nanos) {
+            histogram.recordValue(Math.min(histogram.getHighestTrackableValue(), Math.max(1, nanos / 1000)));
+        }
+
+        synchronized long percentileNanos(double percentile, int minSamples) {
+            long samples = histogram.getTotalCount();
+            if (samples < minSamples) {
+                return -1;
+            }
+            if (cachedPercentileNanos < 0 || percentile != cachedPercentile || samples - samplesAtCache >= PERCENTILE_REFRESH) {
+                cachedPercentileNanos = histogram.getValueAtPercentile(percentile) * 1000;
+                cachedPercentile = percentile;
+                samplesAtCache = samples;
+            }
+            return cachedPercentileNanos;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package client;
+
+/**
+ * Token bucket that bounds retries and hedges to a fraction of the original traffic. Every
+ * original request deposits {@code ratio} tokens, every extra attempt withdraws a whole one,
+ * and the bucket holds at most {@code capacity}. While the backend is healthy the bucket
+ * stays full; under an overload where most requests fail it drains after a burst, and the
+ * extra load is capped at {@code ratio} of the requests instead of multiplying them.
+ */
+public class RetryBudget {
+    private final double ratio;
+    private final double capacity;
+    private double tokens;
+
+    public RetryBudget(double ratio, double capacity) {
+        if (ratio < 0 || capacity < 1) {
+            throw new IllegalArgumentException("Invalid retry budget: ratio=" + ratio + ", capacity=" + capacity);
+        }
+        this.ratio = ratio;
+        this.capacity = capacity;
+        this.tokens = capacity;
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(capacity, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    public synchronized double getTokens() {
+        return tokens;
+    }
+}
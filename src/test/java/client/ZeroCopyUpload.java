@@ -0,0 +1,102 @@
+package client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Multipart upload to {@code /pet/{petId}/uploadImage} that sends the file with
+ * {@link FileChannel#transferTo}, so on Linux the kernel copies it from the page cache to
+ * the socket (sendfile) and it never passes through the Java heap. Only the few hundred bytes
+ * of request head and multipart framing are built in memory.
+ * <p>
+ * RestAssured cannot do this: HttpClient writes entities through an {@code OutputStream}.
+ * Plain HTTP only, since TLS has to encrypt in user space; one connection per upload.
+ */
+public final class ZeroCopyUpload {
+
+    private ZeroCopyUpload() {
+    }
+
+    public static Response upload(URI baseUri, String petId, String additionalMetadata, Path file) throws IOException {
+        if (!"http".equals(baseUri.getScheme())) {
+            throw new IllegalArgumentException("Zero-copy upload needs a plain http base URI: " + baseUri);
+        }
+        String boundary = "----petstore" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        String preamble = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"additionalMetadata\"\r\n\r\n"
+                + additionalMetadata + "\r\n"
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + file.getFileName() + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n";
+        byte[] epilogue = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] preambleBytes = preamble.getBytes(StandardCharsets.UTF_8);
+        int port = baseUri.getPort() < 0 ? 80 : baseUri.getPort();
+        String basePath = baseUri.getRawPath() == null ? "" : baseUri.getRawPath();
+
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+             SocketChannel socket = SocketChannel.open(new InetSocketAddress(baseUri.getHost(), port))) {
+            long size = source.size();
+            String head = "POST " + basePath + "/pet/" + petId + "/uploadImage HTTP/1.1\r\n"
+                    + "Host: " + baseUri.getHost() + ":" + port + "\r\n"
+                    + "Accept: application/json\r\n"
+                    + "Content-Type: multipart/form-data; boundary=" + boundary + "\r\n"
+                    + "Content-Length: " + (preambleBytes.length + size + epilogue.length) + "\r\n"
+                    + "Connection: close\r\n\r\n";
+            writeFully(socket, ByteBuffer.wrap(head.getBytes(StandardCharsets.US_ASCII)), ByteBuffer.wrap(preambleBytes));
+            for (long position = 0; position < size; ) {
+                position += source.transferTo(position, size - position, socket);
+            }
+            writeFully(socket, ByteBuffer.wrap(epilogue));
+            return readResponse(socket);
+        }
+    }
+
+    private static void writeFully(SocketChannel socket, ByteBuffer... buffers) throws IOException {
+        while (buffers[buffers.length - 1].hasRemaining()) {
+            socket.write(buffers);
+        }
+    }
+
+    private static Response readResponse(SocketChannel socket) throws IOException {
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+        while (socket.read(buffer) >= 0) {
+            received.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+        String raw = received.toString(StandardCharsets.UTF_8);
+        int headEnd = raw.indexOf("\r\n\r\n");
+        if (!raw.startsWith("HTTP/1.") || headEnd < 0) {
+            throw new IOException("Malformed upload response: " + raw);
+        }
+        int status = Integer.parseInt(raw.substring(9, 12));
+        return new Response(status, raw.substring(headEnd + 4));
+    }
+
+    public static final class Response {
+        private final int statusCode;
+        private final String body;
+
+        Response(int statusCode, String body) {
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+}
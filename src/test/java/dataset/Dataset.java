@@ -0,0 +1,114 @@
+package dataset;
+
+import generators.GenerationContext;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Read-only, memory-mapped view of a file written by {@link DatasetBuilder}. Opening it reads
+ * only the header; records are located through the on-disk offset index and returned as
+ * slices of the mapping, so neither iteration nor random access parses or copies anything.
+ * Files over 2 GB are mapped as 1 GB windows that overlap by the maximum record size.
+ * Safe for concurrent readers.
+ */
+public class Dataset implements Closeable {
+    private static final int WINDOW_SHIFT = 30;
+    private static final long WINDOW_BYTES = 1L << WINDOW_SHIFT;
+
+    private final FileChannel channel;
+    private final DatasetType type;
+    private final long count;
+    private final MappedByteBuffer[] windows;
+
+    private Dataset(FileChannel channel, DatasetType type, long count, MappedByteBuffer[] windows) {
+        this.channel = channel;
+        this.type = type;
+        this.count = count;
+        this.windows = windows;
+    }
+
+    public static Dataset open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, DatasetFormat.HEADER_BYTES);
+            byte[] magic = new byte[DatasetFormat.MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, DatasetFormat.MAGIC)) {
+                throw new IOException("Not a dataset file: " + file);
+            }
+            DatasetType type = DatasetType.values()[header.getInt()];
+            header.getInt();
+            long count = header.getLong();
+            long dataEnd = header.getLong();
+            if (dataEnd > channel.size()) {
+                throw new IOException("Truncated dataset file: " + file);
+            }
+            MappedByteBuffer[] windows = new MappedByteBuffer[(int) ((dataEnd + WINDOW_BYTES - 1) >>> WINDOW_SHIFT)];
+            for (int i = 0; i < windows.length; i++) {
+                long start = (long) i << WINDOW_SHIFT;
+                long length = Math.min(dataEnd - start, WINDOW_BYTES + DatasetFormat.MAX_RECORD_BYTES + Integer.BYTES);
+                windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+            return new Dataset(channel, type, count, windows);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public DatasetType getType() {
+        return type;
+    }
+
+    public long size() {
+        return count;
+    }
+
+    /**
+     * The JSON bytes of record {@code i} as a read-only slice of the mapped file.
+     */
+    public ByteBuffer record(long i) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("Record " + i + " of " + count);
+        }
+        long offset = getLong(DatasetFormat.HEADER_BYTES + i * Long.BYTES);
+        MappedByteBuffer window = windows[(int) (offset >>> WINDOW_SHIFT)];
+        int local = (int) (offset & (WINDOW_BYTES - 1));
+        int length = window.getInt(local);
+        return window.slice(local + Integer.BYTES, length).asReadOnlyBuffer();
+    }
+
+    public ByteBuffer randomRecord() {
+        return record(GenerationContext.random().nextLong(count));
+    }
+
+    public byte[] recordBytes(long i) {
+        ByteBuffer record = record(i);
+        byte[] bytes = new byte[record.remaining()];
+        record.get(bytes);
+        return bytes;
+    }
+
+    public void forEach(Consumer<ByteBuffer> action) {
+        for (long i = 0; i < count; i++) {
+            action.accept(record(i));
+        }
+    }
+
+    private long getLong(long position) {
+        return windows[(int) (position >>> WINDOW_SHIFT)].getLong((int) (position & (WINDOW_BYTES - 1)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
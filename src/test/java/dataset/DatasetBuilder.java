@@ -0,0 +1,140 @@
+package dataset;
+
+import generators.GenerationContext;
+import generators.JsonBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a dataset file of {@code count} entities in parallel. Workers take fixed-size
+ * chunks of record numbers, serialize a chunk into a private buffer, reserve space for it at
+ * the end of the data section with one {@code getAndAdd}, and copy it into a memory-mapped
+ * window of the file together with the chunk's slice of the offset index. Chunks land in the
+ * file in completion order, so the index, not the data order, defines record numbers. Each
+ * chunk is generated from its own {@link GenerationContext} partition, so with the same seed
+ * record contents do not depend on the number of threads. Ids are {@link #FIRST_ID} plus the
+ * record number rather than drawn from the per-fork {@code IdAllocator} partition, which holds
+ * far fewer ids than a corpus of tens of millions needs.
+ * <p>
+ * {@code main(type, count, file)} prebuilds a corpus, e.g. through {@code mvn -Pdataset}.
+ */
+public final class DatasetBuilder {
+    /**
+     * Id of record 0; above every {@code IdAllocator} range, so dataset entities never collide
+     * with ones the tests create.
+     */
+    public static final long FIRST_ID = 1L << 32;
+    private static final int RECORDS_PER_CHUNK = 8192;
+    private static final byte[] LENGTH_PLACEHOLDER = new byte[Integer.BYTES];
+
+    private DatasetBuilder() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: DatasetBuilder <pets|users|orders> <count> <file>");
+            System.exit(2);
+        }
+        DatasetType type = DatasetType.valueOf(args[0].toUpperCase(Locale.ROOT));
+        long count = Long.parseLong(args[1].replace("_", ""));
+        Path file = Paths.get(args[2]);
+        long start = System.nanoTime();
+        build(file, type, count, Runtime.getRuntime().availableProcessors());
+        System.out.printf("Wrote %,d %s to %s in %.1fs%n", count, type, file, (System.nanoTime() - start) / 1e9);
+    }
+
+    public static Path build(Path file, DatasetType type, long count, int threads) throws IOException, InterruptedException {
+        long dataStart = DatasetFormat.dataStart(count);
+        AtomicLong nextChunk = new AtomicLong();
+        AtomicLong dataEnd = new AtomicLong(dataStart);
+        long chunks = (count + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    workers.add(executor.submit(() -> {
+                        JsonBuffer buffer = new JsonBuffer();
+                        int[] lengths = new int[RECORDS_PER_CHUNK];
+                        for (long chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                            writeChunk(channel, type, buffer, lengths, chunk, count, dataEnd);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, DatasetFormat.HEADER_BYTES);
+            header.put(DatasetFormat.MAGIC).putInt(type.ordinal()).putInt(0).putLong(count).putLong(dataEnd.get());
+            header.force();
+        }
+        return file;
+    }
+
+    private static void writeChunk(FileChannel channel, DatasetType type, JsonBuffer buffer, int[] lengths,
+                                   long chunk, long count, AtomicLong dataEnd) {
+        long first = chunk * RECORDS_PER_CHUNK;
+        int records = (int) Math.min(RECORDS_PER_CHUNK, count - first);
+        buffer.reset();
+        try (GenerationContext.Scope ignored = GenerationContext.global().partition(chunk)) {
+            for (int i = 0; i < records; i++) {
+                int lengthAt = buffer.length();
+                buffer.raw(LENGTH_PLACEHOLDER);
+                type.write(buffer, FIRST_ID + first + i);
+                int length = buffer.length() - lengthAt - Integer.BYTES;
+                if (length > DatasetFormat.MAX_RECORD_BYTES) {
+                    throw new IllegalStateException("Record of " + length + " bytes exceeds " + DatasetFormat.MAX_RECORD_BYTES);
+                }
+                putInt(buffer.array(), lengthAt, length);
+                lengths[i] = length;
+            }
+        }
+        long position = dataEnd.getAndAdd(buffer.length());
+        try {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_WRITE, position, buffer.length());
+            data.put(buffer.array(), 0, buffer.length());
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_WRITE,
+                    DatasetFormat.HEADER_BYTES + first * Long.BYTES, (long) records * Long.BYTES);
+            long offset = position;
+            for (int i = 0; i < records; i++) {
+                index.putLong(offset);
+                offset += Integer.BYTES + lengths[i];
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+}
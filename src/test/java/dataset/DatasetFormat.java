@@ -0,0 +1,26 @@
+package dataset;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * On-disk layout shared by {@link DatasetBuilder} and {@link Dataset}:
+ * <pre>
+ * header  magic(8) type(int) reserved(int) count(long) dataEnd(long)
+ * index   count x long      absolute offset of record i
+ * data    records           int length, then that many bytes of JSON
+ * </pre>
+ * All numbers are big-endian. Records never exceed {@link #MAX_RECORD_BYTES}, which lets the
+ * reader map the file in overlapping windows without a record ever straddling two of them.
+ */
+final class DatasetFormat {
+    static final byte[] MAGIC = "PSTDAT01".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_BYTES = 32;
+    static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private DatasetFormat() {
+    }
+
+    static long dataStart(long count) {
+        return HEADER_BYTES + count * Long.BYTES;
+    }
+}
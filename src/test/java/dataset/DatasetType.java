@@ -0,0 +1,28 @@
+package dataset;
+
+import generators.JsonBuffer;
+import generators.PetGenerator;
+import generators.StoreGenerator;
+import generators.UserGenerator;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Entity kinds a dataset can hold, each generated through the direct-to-bytes path of its
+ * generator.
+ */
+public enum DatasetType {
+    PETS(PetGenerator::writeRandomPet),
+    USERS(UserGenerator::writeRandomUser),
+    ORDERS(StoreGenerator::writeRandomOrder);
+
+    private final ObjLongConsumer<JsonBuffer> writer;
+
+    DatasetType(ObjLongConsumer<JsonBuffer> writer) {
+        this.writer = writer;
+    }
+
+    void write(JsonBuffer out, long id) {
+        writer.accept(out, id);
+    }
+}
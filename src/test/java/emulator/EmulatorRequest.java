@@ -0,0 +1,69 @@
+package emulator;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class EmulatorRequest {
+    private final String method;
+    private final String path;
+    private final Map<String, String> query;
+    private final Map<String, String> headers;
+    private final byte[] body;
+    private final boolean keepAlive;
+
+    public EmulatorRequest(String method, String target, Map<String, String> headers, byte[] body, boolean keepAlive) {
+        this.method = method;
+        int queryStart = target.indexOf('?');
+        this.path = queryStart < 0 ? target : target.substring(0, queryStart);
+        this.query = queryStart < 0 ? Collections.emptyMap() : parseForm(target.substring(queryStart + 1));
+        this.headers = headers;
+        this.body = body;
+        this.keepAlive = keepAlive;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getQueryParam(String name) {
+        return query.get(name);
+    }
+
+    public String getHeader(String name) {
+        return headers.get(name.toLowerCase());
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public Map<String, String> getFormParams() {
+        return parseForm(new String(body, StandardCharsets.UTF_8));
+    }
+
+    static Map<String, String> parseForm(String encoded) {
+        Map<String, String> params = new LinkedHashMap<>();
+        for (String pair : encoded.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
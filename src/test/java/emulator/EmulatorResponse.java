@@ -0,0 +1,60 @@
+package emulator;
+
+import java.nio.charset.StandardCharsets;
+
+public class EmulatorResponse {
+    private static final String JSON = "application/json";
+
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    public EmulatorResponse(int status, String contentType, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public static EmulatorResponse json(int status, byte[] body) {
+        return new EmulatorResponse(status, JSON, body);
+    }
+
+    public static EmulatorResponse apiResponse(int status, int code, String type, String message) {
+        String json = "{\"code\":" + code + ",\"type\":\"" + type + "\",\"message\":\"" + escape(message) + "\"}";
+        return json(status, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
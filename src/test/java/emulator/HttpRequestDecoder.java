@@ -0,0 +1,189 @@
+package emulator;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incremental HTTP/1.1 request decoder. Bytes read from a non-blocking channel are appended
+ * with {@link #feed(ByteBuffer)} and complete requests are taken with {@link #poll()}.
+ * Supports Content-Length and chunked request bodies.
+ */
+class HttpRequestDecoder {
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+
+    private byte[] buffer = new byte[8 * 1024];
+    private int start;
+    private int end;
+
+    private RequestHead head;
+    private int contentLength;
+    private ByteArrayOutputStream chunkedBody;
+    private int chunkRemaining;
+
+    void feed(ByteBuffer data) {
+        int length = data.remaining();
+        if (end + length > buffer.length) {
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                start = 0;
+            }
+            if (end + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, end + length));
+            }
+        }
+        data.get(buffer, end, length);
+        end += length;
+    }
+
+    EmulatorRequest poll() throws MalformedRequestException {
+        if (head == null && !readHead()) {
+            return null;
+        }
+        byte[] body;
+        if (chunkedBody != null) {
+            if (!readChunks()) {
+                return null;
+            }
+            body = chunkedBody.toByteArray();
+        } else {
+            if (end - start < contentLength) {
+                return null;
+            }
+            body = Arrays.copyOfRange(buffer, start, start + contentLength);
+            start += contentLength;
+        }
+        if (start == end) {
+            start = 0;
+            end = 0;
+        }
+
+        EmulatorRequest request = head.toRequest(body);
+        head = null;
+        chunkedBody = null;
+        return request;
+    }
+
+    private boolean readHead() throws MalformedRequestException {
+        int headerEnd = indexOf(HEADER_END, start, end, HEADER_END.length);
+        if (headerEnd < 0) {
+            if (end - start > MAX_HEADER_BYTES) {
+                throw new MalformedRequestException("Request headers too large");
+            }
+            return false;
+        }
+        String text = new String(buffer, start, headerEnd - start, StandardCharsets.ISO_8859_1);
+        String[] lines = text.split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3) {
+            throw new MalformedRequestException("Bad request line: " + lines[0]);
+        }
+        Map<String, String> headers = new HashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon > 0) {
+                headers.put(lines[i].substring(0, colon).trim().toLowerCase(), lines[i].substring(colon + 1).trim());
+            }
+        }
+        start = headerEnd + HEADER_END.length;
+        head = new RequestHead(requestLine, headers);
+        if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+            chunkedBody = new ByteArrayOutputStream();
+            chunkRemaining = -1;
+        } else {
+            contentLength = parseContentLength(headers.get("content-length"));
+        }
+        return true;
+    }
+
+    /**
+     * Consumes complete chunks from the buffer so large streamed bodies are never rescanned.
+     * Returns true once the terminating chunk and trailers have been read.
+     */
+    private boolean readChunks() throws MalformedRequestException {
+        while (true) {
+            if (chunkRemaining < 0) {
+                int lineEnd = indexOf(HEADER_END, start, end, 2);
+                if (lineEnd < 0) {
+                    return false;
+                }
+                String sizeLine = new String(buffer, start, lineEnd - start, StandardCharsets.ISO_8859_1);
+                int semicolon = sizeLine.indexOf(';');
+                try {
+                    chunkRemaining = Integer.parseInt((semicolon < 0 ? sizeLine : sizeLine.substring(0, semicolon)).trim(), 16);
+                } catch (NumberFormatException e) {
+                    throw new MalformedRequestException("Bad chunk size: " + sizeLine);
+                }
+                if (chunkRemaining == 0) {
+                    int trailerEnd = indexOf(HEADER_END, lineEnd, end, HEADER_END.length);
+                    if (trailerEnd < 0) {
+                        chunkRemaining = -1;
+                        return false;
+                    }
+                    start = trailerEnd + HEADER_END.length;
+                    return true;
+                }
+                start = lineEnd + 2;
+            }
+            if (end - start < chunkRemaining + 2) {
+                return false;
+            }
+            chunkedBody.write(buffer, start, chunkRemaining);
+            start += chunkRemaining + 2;
+            chunkRemaining = -1;
+        }
+    }
+
+    private static int parseContentLength(String value) throws MalformedRequestException {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new MalformedRequestException("Bad Content-Length: " + value);
+        }
+    }
+
+    private int indexOf(byte[] pattern, int from, int to, int patternLength) {
+        outer:
+        for (int i = from; i <= to - patternLength; i++) {
+            for (int j = 0; j < patternLength; j++) {
+                if (buffer[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static class RequestHead {
+        private final String[] requestLine;
+        private final Map<String, String> headers;
+
+        private RequestHead(String[] requestLine, Map<String, String> headers) {
+            this.requestLine = requestLine;
+            this.headers = headers;
+        }
+
+        private EmulatorRequest toRequest(byte[] body) {
+            String connection = headers.getOrDefault("connection", "");
+            boolean keepAlive = requestLine[2].equals("HTTP/1.1")
+                    ? !connection.equalsIgnoreCase("close")
+                    : connection.equalsIgnoreCase("keep-alive");
+            return new EmulatorRequest(requestLine[0], requestLine[1], headers, body, keepAlive);
+        }
+    }
+
+    static class MalformedRequestException extends Exception {
+        MalformedRequestException(String message) {
+            super(message);
+        }
+    }
+}
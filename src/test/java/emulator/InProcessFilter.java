@@ -0,0 +1,132 @@
+package emulator;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.MultiPartSpecification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Answers RestAssured requests straight from a {@link PetstoreBackend} in the calling thread,
+ * without sockets or an HTTP client. Ordered last, so latency, record and replay filters still
+ * see every request; the base URI only has to be syntactically valid.
+ */
+public class InProcessFilter implements OrderedFilter {
+    public static final String BASE_URI = "http://petstore.in-process/v2";
+
+    private final PetstoreBackend backend;
+
+    public InProcessFilter(PetstoreBackend backend) {
+        this.backend = backend;
+    }
+
+    public PetstoreBackend getBackend() {
+        return backend;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        URI uri = URI.create(requestSpec.getURI());
+        String target = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        Map<String, String> headers = new HashMap<>();
+        for (Header header : requestSpec.getHeaders()) {
+            headers.put(header.getName().toLowerCase(), header.getValue());
+        }
+        byte[] body;
+        try {
+            body = encodeBody(requestSpec, headers);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read request body of " + requestSpec.getMethod() + " " + target, e);
+        }
+
+        EmulatorResponse response = backend.handle(new EmulatorRequest(requestSpec.getMethod(), target, headers, body, true));
+        return new ResponseBuilder()
+                .setStatusCode(response.getStatus())
+                .setStatusLine("HTTP/1.1 " + response.getStatus())
+                .setContentType(response.getContentType())
+                .setBody(response.getBody())
+                .build();
+    }
+
+    private static byte[] encodeBody(FilterableRequestSpecification requestSpec, Map<String, String> headers) throws IOException {
+        if (!requestSpec.getMultiPartParams().isEmpty()) {
+            String boundary = UUID.randomUUID().toString();
+            headers.put("content-type", "multipart/form-data; boundary=" + boundary);
+            return encodeMultipart(requestSpec, boundary);
+        }
+        if (!requestSpec.getFormParams().isEmpty()) {
+            headers.putIfAbsent("content-type", "application/x-www-form-urlencoded");
+            return requestSpec.getFormParams().entrySet().stream()
+                    .map(param -> URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8) + "="
+                            + URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8))
+                    .collect(Collectors.joining("&"))
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+        if (requestSpec.getContentType() != null) {
+            headers.put("content-type", requestSpec.getContentType());
+        }
+        Object body = requestSpec.getBody();
+        return body == null ? new byte[0] : toBytes(body);
+    }
+
+    private static byte[] encodeMultipart(FilterableRequestSpecification requestSpec, String boundary) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (MultiPartSpecification part : requestSpec.getMultiPartParams()) {
+            StringBuilder head = new StringBuilder("--").append(boundary).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"").append(part.getControlName()).append('"');
+            String fileName = part.hasFileName() ? part.getFileName()
+                    : part.getContent() instanceof File ? ((File) part.getContent()).getName() : null;
+            if (fileName != null) {
+                head.append("; filename=\"").append(fileName).append('"');
+            }
+            head.append("\r\n");
+            if (part.getMimeType() != null) {
+                head.append("Content-Type: ").append(part.getMimeType()).append("\r\n");
+            }
+            head.append("\r\n");
+            out.writeBytes(head.toString().getBytes(StandardCharsets.UTF_8));
+            out.writeBytes(toBytes(part.getContent()));
+            out.writeBytes("\r\n".getBytes(StandardCharsets.ISO_8859_1));
+        }
+        out.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        return out.toByteArray();
+    }
+
+    private static byte[] toBytes(Object content) throws IOException {
+        if (content instanceof byte[]) {
+            return (byte[]) content;
+        }
+        if (content instanceof File) {
+            return Files.readAllBytes(((File) content).toPath());
+        }
+        if (content instanceof InputStream) {
+            try (InputStream in = (InputStream) content) {
+                return in.readAllBytes();
+            }
+        }
+        return String.valueOf(content).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,174 @@
+package emulator;
+
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent map from primitive long keys to values, split into lock-striped open-addressing
+ * segments. Keys are never boxed and each entry costs two array slots, so millions of entries
+ * stay cheap to hold and iterate. Iteration visits one segment at a time under its lock and
+ * is weakly consistent across segments.
+ */
+final class LongObjectMap<V> {
+    private static final int SEGMENTS = 64;
+
+    private final Segment<V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    LongObjectMap() {
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    V get(long key) {
+        long hash = mix(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    V put(long key, V value) {
+        return update(key, previous -> value);
+    }
+
+    V remove(long key) {
+        return update(key, previous -> null);
+    }
+
+    /**
+     * Atomically replaces the value of {@code key} with {@code remapping.apply(current)},
+     * removing the entry when it returns null. The function runs under the segment lock and
+     * may update other maps, but must not call back into this one. Returns the previous value.
+     */
+    V update(long key, UnaryOperator<V> remapping) {
+        long hash = mix(key);
+        return segmentFor(hash).update(key, hash, remapping);
+    }
+
+    long size() {
+        long size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    void forEach(Consumer<? super V> action) {
+        for (Segment<V> segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) (hash >>> 58)];
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static final class Segment<V> {
+        private static final int MIN_CAPACITY = 16;
+
+        private long[] keys = new long[MIN_CAPACITY];
+        private Object[] values = new Object[MIN_CAPACITY];
+        private int size;
+
+        synchronized V get(long key, long hash) {
+            int slot = find(key, hash);
+            return slot < 0 ? null : value(slot);
+        }
+
+        synchronized V update(long key, long hash, UnaryOperator<V> remapping) {
+            int slot = find(key, hash);
+            V previous = slot < 0 ? null : value(slot);
+            V next = remapping.apply(previous);
+            if (next == null) {
+                if (slot >= 0) {
+                    delete(slot);
+                }
+            } else if (slot >= 0) {
+                values[slot] = next;
+            } else {
+                if ((size + 1) * 4 > keys.length * 3) {
+                    resize(keys.length * 2);
+                }
+                insert(key, hash, next);
+                size++;
+            }
+            return previous;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void forEach(Consumer<? super V> action) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    action.accept(value(i));
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private V value(int slot) {
+            return (V) values[slot];
+        }
+
+        private int find(long key, long hash) {
+            int mask = keys.length - 1;
+            for (int slot = (int) hash & mask; values[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private void insert(long key, long hash, Object value) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        /**
+         * Backward-shift deletion: later entries of the probe run move into the gap so lookups
+         * never need tombstones.
+         */
+        private void delete(int slot) {
+            int mask = keys.length - 1;
+            int gap = slot;
+            for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+                int home = (int) mix(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+            }
+            values[gap] = null;
+            size--;
+            if (keys.length > MIN_CAPACITY && size * 8 < keys.length) {
+                resize(keys.length / 2);
+            }
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[capacity];
+            values = new Object[capacity];
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    insert(oldKeys[i], mix(oldKeys[i]), oldValues[i]);
+                }
+            }
+        }
+    }
+}
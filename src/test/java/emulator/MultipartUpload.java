@@ -0,0 +1,109 @@
+package emulator;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal multipart/form-data reader for /pet/{petId}/uploadImage: extracts the
+ * additionalMetadata field and the name and size of the uploaded file.
+ */
+class MultipartUpload {
+    private String additionalMetadata;
+    private String fileName = "unknown";
+    private long fileSize;
+
+    static MultipartUpload parse(String contentType, byte[] body) {
+        MultipartUpload upload = new MultipartUpload();
+        String boundary = boundary(contentType);
+        if (boundary == null) {
+            upload.fileSize = body.length;
+            return upload;
+        }
+        byte[] delimiter = ("--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        int partStart = indexOf(body, delimiter, 0);
+        while (partStart >= 0) {
+            int headersStart = partStart + delimiter.length;
+            if (headersStart + 1 < body.length && body[headersStart] == '-' && body[headersStart + 1] == '-') {
+                break;
+            }
+            headersStart += 2;
+            int headersEnd = indexOf(body, "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1), headersStart);
+            int next = indexOf(body, delimiter, headersStart);
+            if (headersEnd < 0 || next < 0) {
+                break;
+            }
+            String headers = new String(body, headersStart, headersEnd - headersStart, StandardCharsets.ISO_8859_1);
+            int contentStart = headersEnd + 4;
+            int contentEnd = Math.max(contentStart, next - 2);
+            String name = dispositionParam(headers, "name");
+            String filename = dispositionParam(headers, "filename");
+            if (filename != null) {
+                upload.fileName = filename;
+                upload.fileSize = contentEnd - contentStart;
+            } else if ("additionalMetadata".equals(name)) {
+                upload.additionalMetadata = new String(body, contentStart, contentEnd - contentStart, StandardCharsets.UTF_8);
+            }
+            partStart = next;
+        }
+        return upload;
+    }
+
+    String getAdditionalMetadata() {
+        return additionalMetadata;
+    }
+
+    String getFileName() {
+        return fileName;
+    }
+
+    long getFileSize() {
+        return fileSize;
+    }
+
+    private static String boundary(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String param : contentType.split(";")) {
+            String trimmed = param.trim();
+            if (trimmed.startsWith("boundary=")) {
+                return unquote(trimmed.substring("boundary=".length()));
+            }
+        }
+        return null;
+    }
+
+    private static String dispositionParam(String headers, String param) {
+        for (String line : headers.split("\r\n")) {
+            if (!line.toLowerCase().startsWith("content-disposition:")) {
+                continue;
+            }
+            for (String part : line.split(";")) {
+                String trimmed = part.trim();
+                if (trimmed.startsWith(param + "=")) {
+                    return unquote(trimmed.substring(param.length() + 1));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer:
+        for (int i = Math.max(0, from); i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,454 @@
+package emulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory implementation of the Petstore v2 endpoints exercised by the test suite.
+ * Transport agnostic: {@link PetstoreEmulator} and {@link InProcessFilter} feed it decoded
+ * HTTP requests.
+ *
+ * <p>Pets and orders are kept as serialized JSON in primitive long-keyed maps. Every pet is
+ * also indexed under its status together with a striped counter, so findByStatus only touches
+ * the matching pets and the inventory only the distinct statuses, however many pets are stored.
+ */
+public class PetstoreBackend {
+    private static final String BASE_PATH = "/v2";
+    private static final long FIRST_GENERATED_ID = 9_000_000_000L;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LongObjectMap<StoredPet> pets = new LongObjectMap<>();
+    private final ConcurrentMap<String, StatusIndex> petsByStatus = new ConcurrentHashMap<>();
+    private final LongObjectMap<byte[]> orders = new LongObjectMap<>();
+    private final ConcurrentMap<String, ObjectNode> users = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong(FIRST_GENERATED_ID);
+
+    public PetstoreBackend() {
+        seedPet("doggie", "available");
+        seedPet("kitty", "pending");
+        seedPet("goldie", "sold");
+    }
+
+    public EmulatorResponse handle(EmulatorRequest request) {
+        String path = request.getPath();
+        if (path.startsWith(BASE_PATH)) {
+            path = path.substring(BASE_PATH.length());
+        }
+        String[] segments = Arrays.stream(path.split("/")).filter(s -> !s.isEmpty()).toArray(String[]::new);
+        try {
+            if (segments.length == 0) {
+                return notFound();
+            }
+            return switch (segments[0]) {
+                case "pet" -> handlePet(request, segments);
+                case "store" -> handleStore(request, segments);
+                case "user" -> handleUser(request, segments);
+                default -> notFound();
+            };
+        } catch (IOException e) {
+            return EmulatorResponse.apiResponse(400, 400, "unknown", "bad input");
+        }
+    }
+
+    private EmulatorResponse handlePet(EmulatorRequest request, String[] segments) throws IOException {
+        String method = request.getMethod();
+        if (segments.length == 1) {
+            if (method.equals("POST") || method.equals("PUT")) {
+                return savePet(request);
+            }
+            return methodNotAllowed();
+        }
+        if (segments.length == 2 && segments[1].equals("findByStatus") && method.equals("GET")) {
+            return findPetsByStatus(request.getQueryParam("status"));
+        }
+        Long petId = parseId(segments[1]);
+        if (segments.length == 3 && segments[2].equals("uploadImage") && method.equals("POST")) {
+            return uploadImage(request, petId);
+        }
+        if (segments.length != 2) {
+            return notFound();
+        }
+        return switch (method) {
+            case "GET" -> getPet(petId);
+            case "POST" -> updatePetWithForm(request, petId);
+            case "DELETE" -> deletePet(petId);
+            default -> methodNotAllowed();
+        };
+    }
+
+    private EmulatorResponse savePet(EmulatorRequest request) throws IOException {
+        JsonNode body = mapper.readTree(request.getBody());
+        if (!(body instanceof ObjectNode)) {
+            return EmulatorResponse.apiResponse(405, 405, "unknown", "Invalid input");
+        }
+        ObjectNode pet = (ObjectNode) body;
+        Long id = normalizeId(pet);
+        if (id == null) {
+            return EmulatorResponse.apiResponse(400, 400, "unknown", "Invalid ID supplied");
+        }
+        byte[] json = mapper.writeValueAsBytes(pet);
+        storePet(id, statusOf(pet), json);
+        return EmulatorResponse.json(200, json);
+    }
+
+    private EmulatorResponse findPetsByStatus(String statusParam) throws IOException {
+        Set<String> statuses = statusParam == null ? Set.of() : Arrays.stream(statusParam.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        result.write('[');
+        for (String status : statuses) {
+            StatusIndex index = petsByStatus.get(status);
+            if (index != null) {
+                index.pets.forEach(pet -> {
+                    if (result.size() > 1) {
+                        result.write(',');
+                    }
+                    result.writeBytes(pet.json);
+                });
+            }
+        }
+        result.write(']');
+        return EmulatorResponse.json(200, result.toByteArray());
+    }
+
+    private EmulatorResponse getPet(Long petId) throws IOException {
+        if (petId == null) {
+            return EmulatorResponse.apiResponse(400, 400, "unknown", "Invalid ID supplied");
+        }
+        StoredPet pet = pets.get(petId);
+        return pet == null ? EmulatorResponse.apiResponse(404, 1, "error", "Pet not found") : EmulatorResponse.json(200, pet.json);
+    }
+
+    private EmulatorResponse updatePetWithForm(EmulatorRequest request, Long petId) throws IOException {
+        if (petId == null) {
+            return EmulatorResponse.apiResponse(405, 405, "unknown", "Invalid input");
+        }
+        Map<String, String> form = request.getFormParams();
+        StoredPet previous = updatePet(petId, pet -> {
+            if (pet == null) {
+                return null;
+            }
+            ObjectNode copy = (ObjectNode) mapper.readTree(pet.json);
+            if (form.containsKey("name")) {
+                copy.put("name", form.get("name"));
+            }
+            if (form.containsKey("status")) {
+                copy.put("status", form.get("status"));
+            }
+            return new StoredPet(statusOf(copy), mapper.writeValueAsBytes(copy));
+        });
+        if (previous == null) {
+            return EmulatorResponse.apiResponse(404, 404, "unknown", "not found");
+        }
+        return EmulatorResponse.apiResponse(200, 200, "unknown", String.valueOf(petId));
+    }
+
+    private EmulatorResponse deletePet(Long petId) throws IOException {
+        if (petId == null) {
+            return EmulatorResponse.apiResponse(400, 400, "unknown", "Invalid ID supplied");
+        }
+        if (updatePet(petId, pet -> null) == null) {
+            return EmulatorResponse.json(404, new byte[0]);
+        }
+        return EmulatorResponse.apiResponse(200, 200, "unknown", String.valueOf(petId));
+    }
+
+    private EmulatorResponse uploadImage(EmulatorRequest request, Long petId) {
+        if (petId == null) {
+            return EmulatorResponse.apiResponse(400, 400, "unknown", "Invalid ID supplied");
+        }
+        MultipartUpload upload = MultipartUpload.parse(request.getHeader("content-type"), request.getBody());
+        String message = "additionalMetadata: " + upload.getAdditionalMetadata()
+                + "\nFile uploaded to ./" + upload.getFileName() + ", " + upload.getFileSize() + " bytes";
+        return EmulatorResponse.apiResponse(200, 200, "unknown", message);
+    }
+
+    private EmulatorResponse handleStore(EmulatorRequest request, String[] segments) throws IOException {
+        String method = request.getMethod();
+        if (segments.length == 2 && segments[1].equals("inventory") && method.equals("GET")) {
+            return inventory();
+        }
+        if (segments.length == 2 && segments[1].equals("order") && method.equals("POST")) {
+            return placeOrder(request);
+        }
+        if (segments.length == 3 && segments[1].equals("order")) {
+            Long orderId = parseId(segments[2]);
+            if (orderId == null) {
+                return EmulatorResponse.apiResponse(400, 400, "unknown", "Invalid ID supplied");
+            }
+            return switch (method) {
+                case "GET" -> {
+                    byte[] order = orders.get(orderId);
+                    yield order == null ? EmulatorResponse.apiResponse(404, 1, "error", "Order not found") : EmulatorResponse.json(200, order);
+                }
+                case "DELETE" -> orders.remove(orderId) == null
+                        ? EmulatorResponse.apiResponse(404, 404, "unknown", "Order Not Found")
+                        : EmulatorResponse.apiResponse(200, 200, "unknown", String.valueOf(orderId));
+                default -> methodNotAllowed();
+            };
+        }
+        return notFound();
+    }
+
+    private EmulatorResponse inventory() throws IOException {
+        Map<String, Long> counts = new TreeMap<>();
+        petsByStatus.forEach((status, index) -> {
+            long count = index.count.sum();
+            if (count > 0) {
+                counts.put(status, count);
+            }
+        });
+        return json(counts);
+    }
+
+    private EmulatorResponse placeOrder(EmulatorRequest request) throws IOException {
+        JsonNode body = mapper.readTree(request.getBody());
+        if (!(body instanceof ObjectNode)) {
+            return EmulatorResponse.apiResponse(400, 400, "unknown", "Invalid Order");
+        }
+        ObjectNode order = (ObjectNode) body;
+        Long id = normalizeId(order);
+        if (id == null) {
+            return EmulatorResponse.apiResponse(400, 400, "unknown", "Invalid Order");
+        }
+        if (!order.has("complete")) {
+            order.put("complete", false);
+        }
+        byte[] json = mapper.writeValueAsBytes(order);
+        orders.put(id, json);
+        return EmulatorResponse.json(200, json);
+    }
+
+    private EmulatorResponse handleUser(EmulatorRequest request, String[] segments) throws IOException {
+        String method = request.getMethod();
+        if (segments.length == 1 && method.equals("POST")) {
+            return createUser(request);
+        }
+        if (segments.length != 2) {
+            return notFound();
+        }
+        String name = segments[1];
+        if (method.equals("POST") && (name.equals("createWithArray") || name.equals("createWithList"))) {
+            return createUsers(request);
+        }
+        if (method.equals("GET") && name.equals("login")) {
+            return EmulatorResponse.apiResponse(200, 200, "unknown", "logged in user session:" + System.currentTimeMillis());
+        }
+        if (method.equals("GET") && name.equals("logout")) {
+            return EmulatorResponse.apiResponse(200, 200, "unknown", "ok");
+        }
+        return switch (method) {
+            case "GET" -> {
+                ObjectNode user = users.get(name);
+                yield user == null ? EmulatorResponse.apiResponse(404, 1, "error", "User not found") : json(user);
+            }
+            case "PUT" -> updateUser(request, name);
+            case "DELETE" -> users.remove(name) == null
+                    ? EmulatorResponse.json(404, new byte[0])
+                    : EmulatorResponse.apiResponse(200, 200, "unknown", name);
+            default -> methodNotAllowed();
+        };
+    }
+
+    private EmulatorResponse createUser(EmulatorRequest request) throws IOException {
+        JsonNode body = mapper.readTree(request.getBody());
+        if (!(body instanceof ObjectNode)) {
+            return EmulatorResponse.apiResponse(400, 400, "unknown", "bad input");
+        }
+        ObjectNode user = storeUser((ObjectNode) body);
+        return EmulatorResponse.apiResponse(200, 200, "unknown", user.path("id").asText());
+    }
+
+    private EmulatorResponse createUsers(EmulatorRequest request) throws IOException {
+        JsonNode body = mapper.readTree(request.getBody());
+        if (!(body instanceof ArrayNode)) {
+            return EmulatorResponse.apiResponse(400, 400, "unknown", "bad input");
+        }
+        for (JsonNode user : body) {
+            if (user instanceof ObjectNode) {
+                storeUser((ObjectNode) user);
+            }
+        }
+        return EmulatorResponse.apiResponse(200, 200, "unknown", "ok");
+    }
+
+    private EmulatorResponse updateUser(EmulatorRequest request, String username) throws IOException {
+        if (!users.containsKey(username)) {
+            return EmulatorResponse.apiResponse(404, 1, "error", "User not found");
+        }
+        JsonNode body = mapper.readTree(request.getBody());
+        if (!(body instanceof ObjectNode)) {
+            return EmulatorResponse.apiResponse(400, 400, "unknown", "bad input");
+        }
+        ObjectNode user = (ObjectNode) body;
+        user.put("username", username);
+        storeUser(user);
+        return EmulatorResponse.apiResponse(200, 200, "unknown", user.path("id").asText());
+    }
+
+    private ObjectNode storeUser(ObjectNode user) {
+        Long id = normalizeId(user);
+        if (id == null) {
+            user.put("id", idSequence.incrementAndGet());
+        }
+        users.put(user.path("username").asText(), user);
+        return user;
+    }
+
+    private void seedPet(String name, String status) {
+        ObjectNode pet = mapper.createObjectNode();
+        long id = idSequence.incrementAndGet();
+        pet.put("id", id);
+        pet.put("name", name);
+        pet.putArray("photoUrls").add("string");
+        pet.putArray("tags");
+        pet.put("status", status);
+        StoredPet stored = new StoredPet(status, pet.toString().getBytes(StandardCharsets.UTF_8));
+        pets.put(id, stored);
+        petsByStatus.computeIfAbsent(status, key -> new StatusIndex()).add(id, stored);
+    }
+
+    /**
+     * Number of stored pets; the emulator's own view, independent of any endpoint.
+     */
+    public long petCount() {
+        return pets.size();
+    }
+
+    private void storePet(long id, String status, byte[] json) throws IOException {
+        StoredPet stored = new StoredPet(status, json);
+        updatePet(id, previous -> stored);
+    }
+
+    /**
+     * Replaces a pet (null removes it) and moves it between status indexes atomically: the
+     * indexes change while the pet's slot in the primary map is locked, so concurrent updates
+     * of one pet can never leave it indexed under two statuses or none. Returns the previous pet.
+     */
+    private StoredPet updatePet(long id, PetUpdate update) throws IOException {
+        IOException[] failure = new IOException[1];
+        StoredPet previous = pets.update(id, current -> {
+            StoredPet next;
+            try {
+                next = update.apply(current);
+            } catch (IOException e) {
+                failure[0] = e;
+                return current;
+            }
+            if (current != null) {
+                petsByStatus.get(current.status).remove(id);
+            }
+            if (next != null) {
+                petsByStatus.computeIfAbsent(next.status, status -> new StatusIndex()).add(id, next);
+            }
+            return next;
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return previous;
+    }
+
+    private static String statusOf(JsonNode pet) {
+        return pet.path("status").asText("unknown");
+    }
+
+    /**
+     * Coerces the "id" field to a number the way the real service does, assigning one when absent.
+     * Returns null when a present id is not a positive integer.
+     */
+    private Long normalizeId(ObjectNode node) {
+        JsonNode idNode = node.get("id");
+        Long id;
+        if (idNode == null || idNode.isNull() || (idNode.isNumber() && idNode.asLong() == 0)) {
+            id = idSequence.incrementAndGet();
+        } else if (idNode.isIntegralNumber()) {
+            id = idNode.asLong();
+        } else if (idNode.isTextual()) {
+            id = parseId(idNode.asText());
+        } else {
+            id = null;
+        }
+        if (id == null || id <= 0) {
+            return null;
+        }
+        node.put("id", id);
+        return id;
+    }
+
+    private static Long parseId(String value) {
+        try {
+            long id = Long.parseLong(value.trim());
+            return id > 0 ? id : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private EmulatorResponse json(Object value) throws IOException {
+        return EmulatorResponse.json(200, mapper.writeValueAsBytes(value));
+    }
+
+    private static EmulatorResponse notFound() {
+        return EmulatorResponse.json(404, "{\"code\":404,\"type\":\"unknown\",\"message\":\"not found\"}"
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static EmulatorResponse methodNotAllowed() {
+        return EmulatorResponse.apiResponse(405, 405, "unknown", "Method Not Allowed");
+    }
+
+    @FunctionalInterface
+    private interface PetUpdate {
+        StoredPet apply(StoredPet current) throws IOException;
+    }
+
+    private static final class StoredPet {
+        private final String status;
+        private final byte[] json;
+
+        private StoredPet(String status, byte[] json) {
+            this.status = status;
+            this.json = json;
+        }
+    }
+
+    /**
+     * The pets currently in one status. The count is a {@link LongAdder} so writers of
+     * different pets do not contend on it.
+     */
+    private static final class StatusIndex {
+        private final LongObjectMap<StoredPet> pets = new LongObjectMap<>();
+        private final LongAdder count = new LongAdder();
+
+        void add(long id, StoredPet pet) {
+            if (pets.put(id, pet) == null) {
+                count.increment();
+            }
+        }
+
+        void remove(long id) {
+            if (pets.remove(id) != null) {
+                count.decrement();
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package emulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Local stand-in for the public Petstore v2 API. Non-blocking NIO server: one acceptor
+ * thread hands connections round-robin to a fixed set of selector event loops, each of
+ * which decodes pipelined keep-alive requests and answers them from {@link PetstoreBackend}.
+ */
+public class PetstoreEmulator implements AutoCloseable {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final Map<Integer, String> REASONS = Map.of(
+            200, "OK",
+            400, "Bad Request",
+            404, "Not Found",
+            405, "Method Not Allowed",
+            500, "Internal Server Error"
+    );
+
+    private final PetstoreBackend backend;
+    private final ServerSocketChannel server;
+    private final EventLoop[] loops;
+    private final Thread acceptor;
+    private volatile boolean running = true;
+
+    private PetstoreEmulator(PetstoreBackend backend, int port, int eventLoops) throws IOException {
+        this.backend = backend;
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", port), 1024);
+        this.loops = new EventLoop[eventLoops];
+        for (int i = 0; i < eventLoops; i++) {
+            loops[i] = new EventLoop(i);
+            loops[i].start();
+        }
+        this.acceptor = new Thread(this::acceptLoop, "petstore-emulator-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public static PetstoreEmulator start(int port) throws IOException {
+        return start(new PetstoreBackend(), port, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static PetstoreEmulator start(PetstoreBackend backend, int port, int eventLoops) throws IOException {
+        return new PetstoreEmulator(backend, port, Math.max(1, eventLoops));
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    public String getBaseUri() {
+        return "http://127.0.0.1:" + getPort() + "/v2";
+    }
+
+    public PetstoreBackend getBackend() {
+        return backend;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        server.close();
+        for (EventLoop loop : loops) {
+            loop.shutdown();
+        }
+    }
+
+    private void acceptLoop() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = server.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[next].register(channel);
+                next = (next + 1) % loops.length;
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Emulator accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    static byte[] encode(EmulatorResponse response, boolean keepAlive) {
+        byte[] body = response.getBody();
+        String head = "HTTP/1.1 " + response.getStatus() + " "
+                + REASONS.getOrDefault(response.getStatus(), "Unknown") + "\r\n"
+                + "Content-Type: " + response.getContentType() + "\r\n"
+                + "Content-Length: " + body.length + "\r\n"
+                + (keepAlive ? "" : "Connection: close\r\n")
+                + "\r\n";
+        byte[] headBytes = head.getBytes(StandardCharsets.ISO_8859_1);
+        byte[] encoded = new byte[headBytes.length + body.length];
+        System.arraycopy(headBytes, 0, encoded, 0, headBytes.length);
+        System.arraycopy(body, 0, encoded, headBytes.length, body.length);
+        return encoded;
+    }
+
+    private class EventLoop extends Thread {
+        private final Selector selector;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+        EventLoop(int index) throws IOException {
+            super("petstore-emulator-loop-" + index);
+            setDaemon(true);
+            this.selector = Selector.open();
+        }
+
+        void register(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        void shutdown() {
+            selector.wakeup();
+            try {
+                join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    registerPending();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isValid() && key.isReadable()) {
+                                connection.read(readBuffer);
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                connection.flush();
+                            }
+                        } catch (IOException | HttpRequestDecoder.MalformedRequestException e) {
+                            connection.close();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    ((Connection) key.attachment()).close();
+                }
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        private void registerPending() throws ClosedChannelException {
+            SocketChannel channel;
+            while ((channel = pending.poll()) != null) {
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new Connection(channel, key));
+            }
+        }
+    }
+
+    private class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final HttpRequestDecoder decoder = new HttpRequestDecoder();
+        private final Queue<ByteBuffer> outbound = new ArrayDeque<>();
+        private boolean closeAfterFlush;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void read(ByteBuffer readBuffer) throws IOException, HttpRequestDecoder.MalformedRequestException {
+            readBuffer.clear();
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                close();
+                return;
+            }
+            readBuffer.flip();
+            decoder.feed(readBuffer);
+            EmulatorRequest request;
+            while (!closeAfterFlush && (request = decoder.poll()) != null) {
+                EmulatorResponse response;
+                try {
+                    response = backend.handle(request);
+                } catch (RuntimeException e) {
+                    response = EmulatorResponse.apiResponse(500, 500, "unknown", String.valueOf(e.getMessage()));
+                }
+                outbound.add(ByteBuffer.wrap(encode(response, request.isKeepAlive())));
+                closeAfterFlush = !request.isKeepAlive();
+            }
+            flush();
+        }
+
+        void flush() throws IOException {
+            while (!outbound.isEmpty()) {
+                ByteBuffer head = outbound.peek();
+                channel.write(head);
+                if (head.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                outbound.poll();
+            }
+            if (closeAfterFlush) {
+                close();
+            } else if (key.isValid()) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package emulator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Backend with a known capacity, for exercising client-side concurrency control: a fixed
+ * number of workers each spend {@code serviceTime} on every request, and requests beyond that
+ * wait in an unbounded queue, so latency grows with load exactly as in queueing collapse.
+ * Answers every path with {@code 200 {}}. The service time can be changed while running.
+ */
+public class ServiceTimeStub implements AutoCloseable {
+    private static final byte[] BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final int workers;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile long serviceTimeNanos;
+
+    private ServiceTimeStub(int workers, Duration serviceTime) throws IOException {
+        this.workers = workers;
+        this.serviceTimeNanos = serviceTime.toNanos();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "service-time-stub-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static ServiceTimeStub start(int workers, Duration serviceTime) throws IOException {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive: " + workers);
+        }
+        return new ServiceTimeStub(workers, serviceTime);
+    }
+
+    public String baseUri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public Duration getServiceTime() {
+        return Duration.ofNanos(serviceTimeNanos);
+    }
+
+    public void setServiceTime(Duration serviceTime) {
+        this.serviceTimeNanos = serviceTime.toNanos();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            Thread.sleep(serviceTimeNanos / 1_000_000, (int) (serviceTimeNanos % 1_000_000));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,31 @@
+package fixtures;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Engine-shutdown barrier for {@link CleanupQueue}: once the whole test plan has run, waits
+ * for the background deletes to finish and reports resources that were left behind.
+ * Registered through META-INF/services.
+ */
+public class CleanupDrainListener implements TestExecutionListener {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(Long.getLong("cleanup.drainTimeoutSeconds", 60));
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        try {
+            List<String> leaked = CleanupQueue.global().awaitDrained(DRAIN_TIMEOUT);
+            if (leaked.isEmpty()) {
+                System.out.println("Cleanup queue drained");
+            } else {
+                System.err.println("Leaked test resources (" + leaked.size() + "):");
+                leaked.forEach(resource -> System.err.println("  " + resource));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package fixtures;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background deletion of test resources. Each registered cleanup runs on its own virtual
+ * thread, at most {@code cleanup.concurrency} at a time, so a test's teardown overlaps with the
+ * next test instead of adding a round-trip to it. {@link #awaitDrained(Duration)} is the
+ * barrier that waits for outstanding deletes and reports what could not be removed.
+ */
+public final class CleanupQueue {
+    private static final CleanupQueue GLOBAL = new CleanupQueue(Integer.getInteger("cleanup.concurrency", 16));
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final Queue<String> failed = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    CleanupQueue(int concurrency) {
+        this.permits = new Semaphore(concurrency);
+    }
+
+    public static CleanupQueue global() {
+        return GLOBAL;
+    }
+
+    public void register(String resource, Runnable delete) {
+        long key = sequence.incrementAndGet();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        pending.put(key, new Pending(resource, done));
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+                try {
+                    delete.run();
+                } finally {
+                    permits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.add(resource + " (interrupted)");
+            } catch (Throwable e) {
+                failed.add(resource + " (" + e.getMessage() + ")");
+            } finally {
+                pending.remove(key);
+                done.complete(null);
+            }
+        });
+    }
+
+    public int getOutstanding() {
+        return pending.size();
+    }
+
+    /**
+     * Waits until every registered cleanup has finished or {@code timeout} elapses.
+     * Returns the resources that are still pending or whose delete failed.
+     */
+    public List<String> awaitDrained(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!pending.isEmpty()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            CompletableFuture<?>[] outstanding = pending.values().stream()
+                    .map(p -> p.done)
+                    .toArray(CompletableFuture[]::new);
+            try {
+                CompletableFuture.allOf(outstanding).get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                break;
+            }
+        }
+        List<String> leaked = new ArrayList<>(failed);
+        pending.values().forEach(p -> leaked.add(p.resource + " (still pending)"));
+        return leaked;
+    }
+
+    private static class Pending {
+        private final String resource;
+        private final CompletableFuture<Void> done;
+
+        private Pending(String resource, CompletableFuture<Void> done) {
+            this.resource = resource;
+            this.done = done;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package fixtures;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jfr.FixtureEvent;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Resolves {@link TestPet}, {@link TestOrder} and {@link TestUser} parameters. A fixture is
+ * only created when a test method declares it, at most once per test, so tests that don't
+ * need one cost no extra requests. When the test's extension context closes, its deletion is
+ * handed to the {@link CleanupQueue}. Both steps are recorded as {@link FixtureEvent}s.
+ */
+public class FixtureExtension implements ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(FixtureExtension.class);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == String.class && fixtureType(parameterContext).isPresent();
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        FixtureType type = fixtureType(parameterContext).orElseThrow();
+        return extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(type, key -> new CreatedFixture(type, create(type)), CreatedFixture.class)
+                .id;
+    }
+
+    private static Optional<FixtureType> fixtureType(ParameterContext parameterContext) {
+        return Arrays.stream(FixtureType.values())
+                .filter(type -> parameterContext.isAnnotated(type.getAnnotation()))
+                .findFirst();
+    }
+
+    private static String create(FixtureType type) {
+        FixtureEvent event = new FixtureEvent();
+        event.begin();
+        String id = "";
+        try {
+            id = type.create();
+            return id;
+        } catch (JsonProcessingException e) {
+            throw new ParameterResolutionException("Failed to generate " + type + " fixture", e);
+        } finally {
+            event.end(FixtureEvent.CREATE, type.name(), id, !id.isEmpty());
+        }
+    }
+
+    private static void delete(FixtureType type, String id) {
+        FixtureEvent event = new FixtureEvent();
+        event.begin();
+        boolean deleted = false;
+        try {
+            type.delete(id);
+            deleted = true;
+        } finally {
+            event.end(FixtureEvent.CLEANUP, type.name(), id, deleted);
+        }
+    }
+
+    private static class CreatedFixture implements ExtensionContext.Store.CloseableResource {
+        private final FixtureType type;
+        private final String id;
+
+        private CreatedFixture(FixtureType type, String id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public void close() {
+            CleanupQueue.global().register(type + " " + id, () -> delete(type, id));
+        }
+    }
+}
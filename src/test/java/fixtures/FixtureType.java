@@ -0,0 +1,110 @@
+package fixtures;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import generators.PetGenerator;
+import generators.StoreGenerator;
+import generators.UserGenerator;
+import io.restassured.response.Response;
+
+import java.lang.annotation.Annotation;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * How each kind of fixture is created on the backend and removed again.
+ */
+enum FixtureType {
+    PET(TestPet.class) {
+        @Override
+        String create() throws JsonProcessingException {
+            Response response = given()
+                    .contentType("application/json")
+                    .body(PetGenerator.generateRandomPet())
+                    .post("/pet");
+
+            String petId = response.jsonPath().getString("id");
+
+            response.then()
+                    .statusCode(200);
+            return petId;
+        }
+
+        @Override
+        void delete(String petId) {
+            given()
+                    .header("api_key", 12)
+                    .pathParam("petId", petId)
+                    .when()
+                    .delete("/pet/{petId}")
+                    .then()
+                    .statusCode(anyOf(is(200), is(404)));
+        }
+    },
+
+    ORDER(TestOrder.class) {
+        @Override
+        String create() throws JsonProcessingException {
+            Response response = given()
+                    .contentType("application/json")
+                    .body(StoreGenerator.generateTestOrder())
+                    .post("/store/order");
+
+            String orderId = response.jsonPath().getString("id");
+
+            response.then()
+                    .statusCode(200)
+                    .body("id", notNullValue());
+            return orderId;
+        }
+
+        @Override
+        void delete(String orderId) {
+            given()
+                    .pathParam("orderId", orderId)
+                    .when()
+                    .delete("/store/order/{orderId}")
+                    .then()
+                    .statusCode(anyOf(is(200), is(404)));
+        }
+    },
+
+    USER(TestUser.class) {
+        @Override
+        String create() throws JsonProcessingException {
+            String username = UserGenerator.generateTestUsername();
+            given()
+                    .contentType("application/json")
+                    .body(UserGenerator.generateTestUser(username))
+                    .post("/user")
+                    .then()
+                    .statusCode(200)
+                    .body("message", notNullValue());
+            return username;
+        }
+
+        @Override
+        void delete(String username) {
+            given()
+                    .pathParam("username", username)
+                    .when()
+                    .delete("/user/{username}")
+                    .then()
+                    .statusCode(anyOf(is(200), is(404)));
+        }
+    };
+
+    private final Class<? extends Annotation> annotation;
+
+    FixtureType(Class<? extends Annotation> annotation) {
+        this.annotation = annotation;
+    }
+
+    abstract String create() throws JsonProcessingException;
+
+    abstract void delete(String id);
+
+    Class<? extends Annotation> getAnnotation() {
+        return annotation;
+    }
+}
@@ -0,0 +1,15 @@
+package fixtures;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the id of an order created for this test only. Created on first use and deleted
+ * after the test by {@link FixtureExtension}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TestOrder {
+}
@@ -0,0 +1,103 @@
+package generators;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source of randomness for all generators, derived from one master seed. Every partition
+ * (a number chosen by the caller: a chunk of a dataset, a load-generator task) gets its own
+ * {@link SplittableRandom} stream whose seed depends only on the master seed and the partition,
+ * so the same seed and partitioning produce the same payloads however the partitions are
+ * spread over threads. Code that does not pick a partition gets a stream per thread, which is
+ * free of contention but only reproducible when threads start in the same order.
+ * <p>
+ * The seed comes from {@code -Dgenerator.seed} or is chosen at random and printed, so any
+ * failing run can be repeated. {@link IdAllocator} derives only its run offset and namespace
+ * from the seed, so ids repeat when the seed does; order ship dates follow the clock.
+ */
+public final class GenerationContext {
+    public static final String SEED_PROPERTY = "generator.seed";
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    // Per-thread streams are numbered from here, away from partitions callers pick.
+    private static final long THREAD_PARTITIONS = 1L << 62;
+    private static final GenerationContext GLOBAL = new GenerationContext(initialSeed());
+    private static final ThreadLocal<SplittableRandom> BOUND = new ThreadLocal<>();
+
+    private final long seed;
+    private final AtomicLong nextThreadPartition = new AtomicLong(THREAD_PARTITIONS);
+    private final ThreadLocal<SplittableRandom> perThread =
+            ThreadLocal.withInitial(() -> stream(nextThreadPartition.getAndIncrement()));
+
+    public GenerationContext(long seed) {
+        this.seed = seed;
+    }
+
+    public static GenerationContext global() {
+        return GLOBAL;
+    }
+
+    /**
+     * The stream generators on the calling thread draw from: the one bound by
+     * {@link #partition(long)} if any, otherwise the thread's own stream of the global context.
+     */
+    public static SplittableRandom random() {
+        SplittableRandom bound = BOUND.get();
+        return bound != null ? bound : GLOBAL.perThread.get();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * A fresh stream for {@code partition}; equal seeds and partitions give equal sequences.
+     */
+    public SplittableRandom stream(long partition) {
+        return new SplittableRandom(mix64(seed + (partition + 1) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Makes the generators on this thread draw from {@code partition}'s stream until the
+     * returned scope is closed. Scopes nest; closing one restores the previous stream.
+     */
+    public Scope partition(long partition) {
+        SplittableRandom previous = BOUND.get();
+        BOUND.set(stream(partition));
+        return new Scope(previous);
+    }
+
+    private static long initialSeed() {
+        String configured = System.getProperty(SEED_PROPERTY);
+        if (configured != null) {
+            return Long.parseLong(configured);
+        }
+        long seed = ThreadLocalRandom.current().nextLong();
+        System.out.println("Generation seed " + seed + ", repeat with -D" + SEED_PROPERTY + "=" + seed);
+        return seed;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final SplittableRandom previous;
+
+        private Scope(SplittableRandom previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+    }
+}
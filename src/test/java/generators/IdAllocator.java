@@ -0,0 +1,62 @@
+package generators;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, collision-free id source. The id space is split into one partition per
+ * surefire fork; inside a partition each thread claims small blocks with a single
+ * {@code getAndAdd} and then hands out ids from its block without further coordination.
+ * Every run starts at a block offset drawn from the {@link GenerationContext} seed, so leftovers
+ * from earlier runs against a shared backend are not reused, while a run repeated with the same
+ * seed (a cassette replay) allocates the same ids.
+ */
+public final class IdAllocator {
+    private static final int FORK_PARTITIONS = 64;
+    private static final int BLOCK_SIZE = 64;
+    private static final int FORK_NUMBER = Integer.getInteger("petstore.fork", 1);
+    // Far below the partitions generators pick and the per-thread ones from 1L << 62.
+    private static final SplittableRandom RUN_RANDOM = GenerationContext.global().stream(Long.MIN_VALUE);
+    private static final String RUN_NAMESPACE = System.getProperty("petstore.run",
+            Long.toString(RUN_RANDOM.nextLong(36L * 36 * 36 * 36, 36L * 36 * 36 * 36 * 36), 36));
+
+    public static final IdAllocator PETS = new IdAllocator(10, Integer.MAX_VALUE);
+    public static final IdAllocator ORDERS = new IdAllocator(1000, Integer.MAX_VALUE);
+    public static final IdAllocator USERS = new IdAllocator(1000, Integer.MAX_VALUE);
+
+    private final AtomicLong nextBlock;
+    private final long limit;
+    private final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[2]);
+
+    private IdAllocator(long min, long max) {
+        long partitionSize = (max - min) / FORK_PARTITIONS / BLOCK_SIZE * BLOCK_SIZE;
+        long partitionStart = min + Math.floorMod(FORK_NUMBER - 1, FORK_PARTITIONS) * partitionSize;
+        long runOffset = RUN_RANDOM.nextLong(partitionSize / 2 / BLOCK_SIZE) * BLOCK_SIZE;
+        this.nextBlock = new AtomicLong(partitionStart + runOffset);
+        this.limit = partitionStart + partitionSize;
+    }
+
+    public long next() {
+        long[] current = block.get();
+        if (current[0] == current[1]) {
+            long start = nextBlock.getAndAdd(BLOCK_SIZE);
+            if (start + BLOCK_SIZE > limit) {
+                throw new IllegalStateException("Id partition exhausted for fork " + FORK_NUMBER);
+            }
+            current[0] = start;
+            current[1] = start + BLOCK_SIZE;
+        }
+        return current[0]++;
+    }
+
+    public int nextInt() {
+        return Math.toIntExact(next());
+    }
+
+    /**
+     * Prefix unique to this run and fork, used to keep usernames of concurrent runs apart.
+     */
+    public static String namespace() {
+        return RUN_NAMESPACE + FORK_NUMBER;
+    }
+}
@@ -0,0 +1,142 @@
+package generators;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes valid RGB PNGs of roughly a requested size, for upload tests that need images far
+ * larger than the bundled test_image.png. Pixel rows are generated one at a time and stored
+ * uncompressed, so the file size tracks the pixel count and memory use is independent of it.
+ */
+public final class ImageGenerator {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int WIDTH = 1024;
+    private static final int BYTES_PER_PIXEL = 3;
+    private static final int ROW_BYTES = 1 + WIDTH * BYTES_PER_PIXEL;
+    private static final int IDAT_CHUNK_BYTES = 1 << 20;
+
+    private ImageGenerator() {
+    }
+
+    /**
+     * A PNG of about {@code approximateBytes} in a temp file that is deleted on exit.
+     */
+    public static Path createTempPng(long approximateBytes) throws IOException {
+        Path file = Files.createTempFile("petstore-upload-", ".png");
+        file.toFile().deleteOnExit();
+        return writePng(file, approximateBytes);
+    }
+
+    public static Path writePng(Path file, long approximateBytes) throws IOException {
+        long rows = Math.max(1, (approximateBytes + ROW_BYTES - 1) / ROW_BYTES);
+        if (rows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Image too large: " + approximateBytes + " bytes");
+        }
+        int height = (int) rows;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.write(SIGNATURE);
+            byte[] header = new byte[13];
+            putInt(header, 0, WIDTH);
+            putInt(header, 4, height);
+            header[8] = 8;  // bit depth
+            header[9] = 2;  // colour type: truecolour RGB
+            writeChunk(out, "IHDR", header, header.length);
+
+            Deflater deflater = new Deflater(Deflater.NO_COMPRESSION);
+            try (DeflaterOutputStream pixels = new DeflaterOutputStream(new IdatOutputStream(out), deflater, 1 << 16)) {
+                byte[] row = new byte[ROW_BYTES];
+                for (int y = 0; y < height; y++) {
+                    fillRow(row, y);
+                    pixels.write(row);
+                }
+            } finally {
+                deflater.end();
+            }
+            writeChunk(out, "IEND", new byte[0], 0);
+        }
+        return file;
+    }
+
+    private static void fillRow(byte[] row, int y) {
+        row[0] = 0;  // filter type: none
+        for (int x = 0, i = 1; x < WIDTH; x++) {
+            row[i++] = (byte) x;
+            row[i++] = (byte) y;
+            row[i++] = (byte) (x ^ y);
+        }
+    }
+
+    private static void writeChunk(DataOutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Cuts the zlib stream into IDAT chunks of at most {@link #IDAT_CHUNK_BYTES}. Closing it
+     * flushes the last chunk but leaves the underlying stream open for IEND.
+     */
+    private static class IdatOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte[] chunk = new byte[IDAT_CHUNK_BYTES];
+        private int length;
+
+        IdatOutputStream(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (length == chunk.length) {
+                flushChunk();
+            }
+            chunk[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (length == chunk.length) {
+                    flushChunk();
+                }
+                int n = Math.min(len, chunk.length - length);
+                System.arraycopy(b, off, chunk, length, n);
+                length += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (length > 0) {
+                flushChunk();
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            writeChunk(out, "IDAT", chunk, length);
+            length = 0;
+        }
+    }
+}
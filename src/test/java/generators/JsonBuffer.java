@@ -0,0 +1,151 @@
+package generators;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with just enough JSON writing primitives for the generators' direct
+ * serialization path. Values are written as UTF-8 bytes without creating Strings; reuse one
+ * instance per thread and {@link #reset()} it between payloads.
+ */
+public final class JsonBuffer {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<JsonBuffer> PER_THREAD = ThreadLocal.withInitial(JsonBuffer::new);
+
+    private byte[] bytes = new byte[512];
+    private int length;
+
+    /**
+     * The calling thread's buffer, already reset.
+     */
+    public static JsonBuffer forCurrentThread() {
+        JsonBuffer buffer = PER_THREAD.get();
+        buffer.reset();
+        return buffer;
+    }
+
+    public static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public JsonBuffer reset() {
+        length = 0;
+        return this;
+    }
+
+    public byte[] array() {
+        return bytes;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes, 0, length);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, length);
+    }
+
+    public JsonBuffer raw(byte b) {
+        ensure(1);
+        bytes[length++] = b;
+        return this;
+    }
+
+    /**
+     * Appends pre-encoded bytes verbatim; callers pass JSON punctuation, field names or
+     * string values that need no escaping.
+     */
+    public JsonBuffer raw(byte[] value) {
+        ensure(value.length);
+        System.arraycopy(value, 0, bytes, length, value.length);
+        length += value.length;
+        return this;
+    }
+
+    public JsonBuffer quoted(byte[] value) {
+        return raw((byte) '"').raw(value).raw((byte) '"');
+    }
+
+    public JsonBuffer bool(boolean value) {
+        return raw(value ? TRUE : FALSE);
+    }
+
+    public JsonBuffer number(long value) {
+        if (value == Long.MIN_VALUE) {
+            return raw(MIN_LONG);
+        }
+        if (value < 0) {
+            raw((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    /**
+     * Appends {@code digits} decimal digits of {@code value}, left-padded with zeros.
+     */
+    public JsonBuffer zeroPadded(long value, int digits) {
+        ensure(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    /**
+     * Appends the low {@code digits} nibbles of {@code value} as lowercase hex.
+     */
+    public JsonBuffer hex(long value, int digits) {
+        ensure(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        length += digits;
+        return this;
+    }
+
+    /**
+     * Appends a random 8-4-4-4-12 hex token shaped like {@code UUID.toString()}.
+     */
+    public JsonBuffer uuidLike(long high, long low) {
+        return hex(high >>> 32, 8).raw((byte) '-')
+                .hex(high >>> 16, 4).raw((byte) '-')
+                .hex(high, 4).raw((byte) '-')
+                .hex(low >>> 48, 4).raw((byte) '-')
+                .hex(low, 12);
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package generators;
+
+import models.Category;
+import models.Pet;
+import models.Tag;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static generators.PetGenerator.*;
+
+/**
+ * Generated pets stored column by column instead of as {@link Pet} object graphs. Ids are a
+ * {@code long[]}; category, tag, status and name prefix are ordinals into the generator's
+ * vocabularies; name suffixes and photo URL tokens are kept as the random bits they are
+ * printed from. Photos and tags of pet {@code i} are the ranges {@code [offsets[i],
+ * offsets[i + 1])} of shared arrays. That is about 60 bytes per pet, where a {@link Pet} with
+ * its category, tags, Strings and boxed ids takes several hundred.
+ * <p>
+ * {@link #writeJson(int, JsonBuffer)} prints a pet straight from the columns; {@link #pet(int)}
+ * builds the model when one is needed. The {@link Category} and {@link Tag} instances it uses
+ * are flyweights shared by all pets and batches and must not be modified.
+ */
+public final class PetBatch {
+    private static final int CATEGORY_NAMES = CATEGORIES.size();
+    private static final int TAG_NAMES = TAGS.size();
+    private static final Category[] CATEGORY_FLYWEIGHTS = new Category[MAX_CATEGORY_ID * CATEGORY_NAMES];
+    private static final Tag[] TAG_FLYWEIGHTS = new Tag[MAX_TAG_ID * TAG_NAMES];
+
+    static {
+        for (int i = 0; i < CATEGORY_FLYWEIGHTS.length; i++) {
+            CATEGORY_FLYWEIGHTS[i] = new Category((long) (i / CATEGORY_NAMES), CATEGORIES.get(i % CATEGORY_NAMES));
+        }
+        for (int i = 0; i < TAG_FLYWEIGHTS.length; i++) {
+            TAG_FLYWEIGHTS[i] = new Tag((long) (i / TAG_NAMES), TAGS.get(i % TAG_NAMES));
+        }
+    }
+
+    private final int size;
+    private final long[] ids;
+    private final short[] categories;
+    private final byte[] namePrefixes;
+    private final int[] nameSuffixes;
+    private final byte[] statuses;
+    private final int[] photoOffsets;
+    private final long[] photoBits;
+    private final int[] tagOffsets;
+    private final short[] tags;
+
+    private PetBatch(int size, long[] ids, short[] categories, byte[] namePrefixes, int[] nameSuffixes, byte[] statuses,
+                     int[] photoOffsets, long[] photoBits, int[] tagOffsets, short[] tags) {
+        this.size = size;
+        this.ids = ids;
+        this.categories = categories;
+        this.namePrefixes = namePrefixes;
+        this.nameSuffixes = nameSuffixes;
+        this.statuses = statuses;
+        this.photoOffsets = photoOffsets;
+        this.photoBits = photoBits;
+        this.tagOffsets = tagOffsets;
+        this.tags = tags;
+    }
+
+    static PetBatch generate(int count, SplittableRandom rnd) {
+        long[] ids = new long[count];
+        short[] categories = new short[count];
+        byte[] namePrefixes = new byte[count];
+        int[] nameSuffixes = new int[count];
+        byte[] statuses = new byte[count];
+        int[] photoOffsets = new int[count + 1];
+        long[] photoBits = new long[count * MAX_PHOTOS * 2];
+        int[] tagOffsets = new int[count + 1];
+        short[] tags = new short[count * MAX_TAGS];
+        int photos = 0;
+        int tagCount = 0;
+        for (int i = 0; i < count; i++) {
+            ids[i] = IdAllocator.PETS.next();
+            categories[i] = (short) (rnd.nextInt(MAX_CATEGORY_ID) * CATEGORY_NAMES + rnd.nextInt(CATEGORY_NAMES));
+            namePrefixes[i] = (byte) rnd.nextInt(PET_NAMES.size());
+            nameSuffixes[i] = rnd.nextInt(1 << (4 * UUID_SUBSTRING_LENGTH));
+            int petPhotos = rnd.nextInt(MIN_PHOTOS, MAX_PHOTOS + 1);
+            for (int p = 0; p < petPhotos; p++) {
+                photoBits[2 * photos] = rnd.nextLong();
+                photoBits[2 * photos + 1] = rnd.nextLong();
+                photos++;
+            }
+            photoOffsets[i + 1] = photos;
+            int petTags = rnd.nextInt(MIN_TAGS, MAX_TAGS + 1);
+            for (int t = 0; t < petTags; t++) {
+                tags[tagCount++] = (short) (rnd.nextInt(MAX_TAG_ID) * TAG_NAMES + rnd.nextInt(TAG_NAMES));
+            }
+            tagOffsets[i + 1] = tagCount;
+            statuses[i] = (byte) rnd.nextInt(STATUSES.size());
+        }
+        return new PetBatch(count, ids, categories, namePrefixes, nameSuffixes, statuses,
+                photoOffsets, Arrays.copyOf(photoBits, 2 * photos), tagOffsets, Arrays.copyOf(tags, tagCount));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public String status(int index) {
+        return STATUSES.get(statuses[index]);
+    }
+
+    public String name(int index) {
+        return ascii(new JsonBuffer().raw(PET_NAME_BYTES[namePrefixes[index]]).raw((byte) '_')
+                .hex(nameSuffixes[index], UUID_SUBSTRING_LENGTH));
+    }
+
+    public Category category(int index) {
+        return CATEGORY_FLYWEIGHTS[categories[index]];
+    }
+
+    public Tag[] tags(int index) {
+        Tag[] petTags = new Tag[tagOffsets[index + 1] - tagOffsets[index]];
+        for (int t = 0; t < petTags.length; t++) {
+            petTags[t] = TAG_FLYWEIGHTS[tags[tagOffsets[index] + t]];
+        }
+        return petTags;
+    }
+
+    public String[] photoUrls(int index) {
+        String[] urls = new String[photoOffsets[index + 1] - photoOffsets[index]];
+        JsonBuffer buffer = new JsonBuffer();
+        for (int p = 0; p < urls.length; p++) {
+            int photo = photoOffsets[index] + p;
+            buffer.reset().raw(PHOTO_URL_PREFIX).uuidLike(photoBits[2 * photo], photoBits[2 * photo + 1]).raw(PHOTO_URL_SUFFIX);
+            // The stored prefix and suffix carry the JSON quotes.
+            urls[p] = new String(buffer.array(), 1, buffer.length() - 2, StandardCharsets.US_ASCII);
+        }
+        return urls;
+    }
+
+    /**
+     * The pet as a model object, sharing the flyweight category and tags.
+     */
+    public Pet pet(int index) {
+        return new Pet(id(index), category(index), name(index), photoUrls(index), tags(index), status(index));
+    }
+
+    /**
+     * Appends the pet's JSON, byte for byte what {@link models.ModelMappers} writes for
+     * {@link #pet(int)}, without building the model.
+     */
+    public JsonBuffer writeJson(int index, JsonBuffer out) {
+        int category = categories[index];
+        out.raw(ID_FIELD).number(ids[index])
+                .raw(CATEGORY_FIELD).raw(ID_FIELD).number(category / CATEGORY_NAMES)
+                .raw(NAME_FIELD).quoted(CATEGORY_BYTES[category % CATEGORY_NAMES]).raw((byte) '}')
+                .raw(NAME_FIELD).raw((byte) '"').raw(PET_NAME_BYTES[namePrefixes[index]]).raw((byte) '_')
+                .hex(nameSuffixes[index], UUID_SUBSTRING_LENGTH).raw((byte) '"')
+                .raw(PHOTO_URLS_FIELD);
+        for (int photo = photoOffsets[index]; photo < photoOffsets[index + 1]; photo++) {
+            if (photo > photoOffsets[index]) {
+                out.raw((byte) ',');
+            }
+            out.raw(PHOTO_URL_PREFIX).uuidLike(photoBits[2 * photo], photoBits[2 * photo + 1]).raw(PHOTO_URL_SUFFIX);
+        }
+        out.raw(TAGS_FIELD);
+        for (int t = tagOffsets[index]; t < tagOffsets[index + 1]; t++) {
+            if (t > tagOffsets[index]) {
+                out.raw((byte) ',');
+            }
+            out.raw(ID_FIELD).number(tags[t] / TAG_NAMES)
+                    .raw(NAME_FIELD).quoted(TAG_BYTES[tags[t] % TAG_NAMES]).raw((byte) '}');
+        }
+        return out.raw(STATUS_FIELD).quoted(STATUS_BYTES[statuses[index]]).raw((byte) '}');
+    }
+
+    public byte[] toJson(int index) {
+        return writeJson(index, JsonBuffer.forCurrentThread()).toByteArray();
+    }
+
+    private static String ascii(JsonBuffer buffer) {
+        return new String(buffer.array(), 0, buffer.length(), StandardCharsets.US_ASCII);
+    }
+}
@@ -1,95 +1,246 @@
 package generators;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jfr.PayloadGenerationEvent;
 import models.Category;
+import models.ModelMappers;
 import models.Pet;
 import models.Tag;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class PetGenerator {
-    private static final int MIN_ID = 10;
-    private static final int MAX_ID = 10_000;
-    private static final int MAX_CATEGORY_ID = 100;
-    private static final int MAX_TAG_ID = 100;
-    private static final int MIN_PHOTOS = 1;
-    private static final int MAX_PHOTOS = 3;
-    private static final int MIN_TAGS = 1;
-    private static final int MAX_TAGS = 3;
-    private static final int UUID_SUBSTRING_LENGTH = 5;
-
-    private static final List<String> PET_NAMES = Arrays.asList(
+    static final int MAX_CATEGORY_ID = 100;
+    static final int MAX_TAG_ID = 100;
+    static final int MIN_PHOTOS = 1;
+    static final int MAX_PHOTOS = 3;
+    static final int MIN_TAGS = 1;
+    static final int MAX_TAGS = 3;
+    static final int UUID_SUBSTRING_LENGTH = 5;
+
+    static final List<String> PET_NAMES = Arrays.asList(
             "Buddy", "Luna", "Max", "Bella", "Charlie", "Lucy", "Cooper", "Daisy"
     );
 
-    private static final List<String> CATEGORIES = Arrays.asList(
+    static final List<String> CATEGORIES = Arrays.asList(
             "Dogs", "Cats", "Birds", "Fish", "Reptiles"
     );
 
-    private static final List<String> TAGS = Arrays.asList(
+    static final List<String> TAGS = Arrays.asList(
             "friendly", "playful", "quiet", "trained", "vaccinated"
     );
 
-    private static final List<String> STATUSES = Arrays.asList(
+    static final List<String> STATUSES = Arrays.asList(
             "available", "pending", "sold"
     );
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-    private static final Random random = new Random();
+    static final byte[][] PET_NAME_BYTES = PET_NAMES.stream().map(JsonBuffer::ascii).toArray(byte[][]::new);
+    static final byte[][] CATEGORY_BYTES = CATEGORIES.stream().map(JsonBuffer::ascii).toArray(byte[][]::new);
+    static final byte[][] TAG_BYTES = TAGS.stream().map(JsonBuffer::ascii).toArray(byte[][]::new);
+    static final byte[][] STATUS_BYTES = STATUSES.stream().map(JsonBuffer::ascii).toArray(byte[][]::new);
+    static final byte[] ID_FIELD = JsonBuffer.ascii("{\"id\":");
+    static final byte[] CATEGORY_FIELD = JsonBuffer.ascii(",\"category\":");
+    static final byte[] NAME_FIELD = JsonBuffer.ascii(",\"name\":");
+    static final byte[] PHOTO_URLS_FIELD = JsonBuffer.ascii(",\"photoUrls\":[");
+    static final byte[] TAGS_FIELD = JsonBuffer.ascii("],\"tags\":[");
+    static final byte[] STATUS_FIELD = JsonBuffer.ascii("],\"status\":");
+    static final byte[] PHOTO_URL_PREFIX = JsonBuffer.ascii("\"https://example.com/photo_");
+    static final byte[] PHOTO_URL_SUFFIX = JsonBuffer.ascii(".jpg\"");
 
-    static {
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-    }
+    private static final String ENTITY = "pet";
+    private static final ObjectWriter writer = ModelMappers.writer(Pet.class);
 
     public static String generateRandomPet() throws JsonProcessingException {
+        PayloadGenerationEvent event = new PayloadGenerationEvent();
+        event.begin();
+        SplittableRandom random = GenerationContext.random();
         Pet pet = new Pet();
-        pet.setId(generateUniqueId());
-        pet.setCategory(generateRandomCategory());
-        pet.setName(getRandomElement(PET_NAMES) + "_" +
-                UUID.randomUUID().toString().substring(0, UUID_SUBSTRING_LENGTH));
-        pet.setPhotoUrls(generatePhotoUrls());
-        pet.setTags(generateRandomTags());
-        pet.setStatus(getRandomElement(STATUSES));
-        return mapper.writeValueAsString(pet);
+        pet.setId(generateUniqueId().longValue());
+        pet.setCategory(generateRandomCategory(random));
+        pet.setName(getRandomElement(PET_NAMES, random) + "_" +
+                randomUuid(random).substring(0, UUID_SUBSTRING_LENGTH));
+        pet.setPhotoUrls(generatePhotoUrls(random));
+        pet.setTags(generateRandomTags(random));
+        pet.setStatus(getRandomElement(STATUSES, random));
+        String json = writer.writeValueAsString(pet);
+        event.end(ENTITY, 1, json.length());
+        return json;
+    }
+
+    /**
+     * Appends the JSON of a random pet to {@code out} without building model objects or
+     * Strings. Same shape and value ranges as {@link #generateRandomPet()}.
+     */
+    public static JsonBuffer writeRandomPet(JsonBuffer out) {
+        return writeRandomPet(out, IdAllocator.PETS.next());
+    }
+
+    /**
+     * {@link #writeRandomPet(JsonBuffer)} with an id chosen by the caller.
+     */
+    public static JsonBuffer writeRandomPet(JsonBuffer out, long id) {
+        PayloadGenerationEvent event = new PayloadGenerationEvent();
+        event.begin();
+        int start = out.length();
+        SplittableRandom rnd = GenerationContext.random();
+        out.raw(ID_FIELD).number(id)
+                .raw(CATEGORY_FIELD).raw(ID_FIELD).number(rnd.nextInt(MAX_CATEGORY_ID))
+                .raw(NAME_FIELD).quoted(pick(CATEGORY_BYTES, rnd)).raw((byte) '}')
+                .raw(NAME_FIELD).raw((byte) '"').raw(pick(PET_NAME_BYTES, rnd)).raw((byte) '_')
+                .hex(rnd.nextLong(), UUID_SUBSTRING_LENGTH).raw((byte) '"')
+                .raw(PHOTO_URLS_FIELD);
+        int photos = rnd.nextInt(MIN_PHOTOS, MAX_PHOTOS + 1);
+        for (int i = 0; i < photos; i++) {
+            if (i > 0) {
+                out.raw((byte) ',');
+            }
+            out.raw(PHOTO_URL_PREFIX).uuidLike(rnd.nextLong(), rnd.nextLong()).raw(PHOTO_URL_SUFFIX);
+        }
+        out.raw(TAGS_FIELD);
+        int tags = rnd.nextInt(MIN_TAGS, MAX_TAGS + 1);
+        for (int i = 0; i < tags; i++) {
+            if (i > 0) {
+                out.raw((byte) ',');
+            }
+            out.raw(ID_FIELD).number(rnd.nextLong(MAX_TAG_ID))
+                    .raw(NAME_FIELD).quoted(pick(TAG_BYTES, rnd)).raw((byte) '}');
+        }
+        out.raw(STATUS_FIELD).quoted(pick(STATUS_BYTES, rnd)).raw((byte) '}');
+        event.end(ENTITY, 1, out.length() - start);
+        return out;
+    }
+
+    public static byte[] generateRandomPetBytes() {
+        return writeRandomPet(JsonBuffer.forCurrentThread()).toByteArray();
+    }
+
+    /**
+     * {@code count} random pets in columnar form, with the same shape and value ranges as
+     * {@link #writeRandomPet(JsonBuffer)}, for tests that keep millions of pets in memory.
+     */
+    public static PetBatch generateBatch(int count) {
+        PayloadGenerationEvent event = new PayloadGenerationEvent();
+        event.begin();
+        PetBatch batch = PetBatch.generate(count, GenerationContext.random());
+        event.end(ENTITY, count, -1);
+        return batch;
+    }
+
+    /**
+     * Lazily generated JSON array of random pets, roughly {@code approximateBytes} long, for
+     * exercising consumers of very large responses without holding the payload in memory.
+     */
+    public static InputStream streamPetArray(long approximateBytes) {
+        return new PetArrayInputStream(approximateBytes);
     }
 
     public static Integer generateUniqueId() {
-        return ThreadLocalRandom.current().nextInt(MIN_ID, MAX_ID);
+        return IdAllocator.PETS.nextInt();
     }
 
-    private static Category generateRandomCategory() {
+    private static Category generateRandomCategory(SplittableRandom random) {
         return new Category(
                 (long) random.nextInt(MAX_CATEGORY_ID),
-                getRandomElement(CATEGORIES)
+                getRandomElement(CATEGORIES, random)
         );
     }
 
-    private static Tag[] generateRandomTags() {
+    private static Tag[] generateRandomTags(SplittableRandom random) {
         int tagCount = random.nextInt(MAX_TAGS - MIN_TAGS + 1) + MIN_TAGS;
         Tag[] tags = new Tag[tagCount];
         for (int i = 0; i < tagCount; i++) {
             tags[i] = new Tag(
                     random.nextLong(MAX_TAG_ID),
-                    getRandomElement(TAGS)
+                    getRandomElement(TAGS, random)
             );
         }
         return tags;
     }
 
-    private static String[] generatePhotoUrls() {
+    private static String[] generatePhotoUrls(SplittableRandom random) {
         int count = random.nextInt(MAX_PHOTOS - MIN_PHOTOS + 1) + MIN_PHOTOS;
         String[] urls = new String[count];
-        Arrays.setAll(urls, i -> "https://example.com/photo_" + UUID.randomUUID() + ".jpg");
+        Arrays.setAll(urls, i -> "https://example.com/photo_" + randomUuid(random) + ".jpg");
         return urls;
     }
 
-    private static <T> T getRandomElement(List<T> list) {
+    private static String randomUuid(SplittableRandom random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private static byte[] pick(byte[][] values, SplittableRandom rnd) {
+        return values[rnd.nextInt(values.length)];
+    }
+
+    private static <T> T getRandomElement(List<T> list, SplittableRandom random) {
         return list.get(random.nextInt(list.size()));
     }
-}
\ No newline at end of file
+
+    private static class PetArrayInputStream extends InputStream {
+        private static final int FILL_BYTES = 64 * 1024;
+
+        private final JsonBuffer buffer = new JsonBuffer();
+        private final long targetBytes;
+        private long written;
+        private int position;
+        private boolean started;
+        private boolean finished;
+
+        PetArrayInputStream(long targetBytes) {
+            this.targetBytes = targetBytes;
+        }
+
+        @Override
+        public int read() {
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            return buffer.array()[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.length() - position);
+            System.arraycopy(buffer.array(), position, target, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean ensureAvailable() {
+            while (position == buffer.length()) {
+                if (finished) {
+                    return false;
+                }
+                buffer.reset();
+                position = 0;
+                if (!started) {
+                    buffer.raw((byte) '[');
+                }
+                while (buffer.length() < FILL_BYTES && written + buffer.length() < targetBytes) {
+                    if (started) {
+                        buffer.raw((byte) ',');
+                    }
+                    writeRandomPet(buffer);
+                    started = true;
+                }
+                if (written + buffer.length() >= targetBytes) {
+                    buffer.raw((byte) ']');
+                    finished = true;
+                }
+                written += buffer.length();
+            }
+            return true;
+        }
+    }
+}
@@ -1,63 +1,132 @@
 package generators;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jfr.PayloadGenerationEvent;
+import models.ModelMappers;
 import models.Order;
+
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
 
 public class StoreGenerator {
-    private static final ObjectMapper mapper = new ObjectMapper();
-    private static final Random random = new Random();
+    private static final String ENTITY = "order";
+    private static final ObjectWriter writer = ModelMappers.writer(Order.class);
 
     private static final List<String> STATUS = List.of("placed", "approved", "delivered");
     private static final int MIN_QUANTITY = 1;
     private static final int MAX_QUANTITY = 10;
-    private static final int MIN_ORDER_ID = 1000;
-    private static final int MAX_ORDER_ID = 10_000;
     private static final int MIN_PET_ID = 1;
     private static final int MAX_PET_ID = 1000;
     private static final int SHIP_DATE_DAYS_OFFSET = 1;
 
+    private static final byte[][] STATUS_BYTES = STATUS.stream().map(JsonBuffer::ascii).toArray(byte[][]::new);
+    private static final byte[] ID_FIELD = JsonBuffer.ascii("{\"id\":");
+    private static final byte[] PET_ID_FIELD = JsonBuffer.ascii(",\"petId\":");
+    private static final byte[] QUANTITY_FIELD = JsonBuffer.ascii(",\"quantity\":");
+    private static final byte[] SHIP_DATE_FIELD = JsonBuffer.ascii(",\"shipDate\":");
+    private static final byte[] STATUS_FIELD = JsonBuffer.ascii(",\"status\":");
+    private static final byte[] COMPLETE_FIELD = JsonBuffer.ascii(",\"complete\":");
+
+    private static volatile ShipDate shipDate = new ShipDate(Long.MIN_VALUE, new byte[0]);
+
     public static String generateRandomOrder() throws JsonProcessingException {
+        PayloadGenerationEvent event = new PayloadGenerationEvent();
+        event.begin();
+        SplittableRandom random = GenerationContext.random();
         Order order = new Order();
-        order.setId(generateUniqueId());
-        order.setPetId(generatePetId());
+        order.setId(generateUniqueId().longValue());
+        order.setPetId(generatePetId(random).longValue());
         order.setQuantity(random.nextInt(MIN_QUANTITY, MAX_QUANTITY + 1));
         order.setShipDate(LocalDateTime.now().plusDays(SHIP_DATE_DAYS_OFFSET).toString());
-        order.setStatus(getRandomElement(STATUS));
+        order.setStatus(getRandomElement(STATUS, random));
         order.setComplete(random.nextBoolean());
-        return mapper.writeValueAsString(order);
+        String json = writer.writeValueAsString(order);
+        event.end(ENTITY, 1, json.length());
+        return json;
     }
 
     public static String generateTestOrder() throws JsonProcessingException {
+        PayloadGenerationEvent event = new PayloadGenerationEvent();
+        event.begin();
+        SplittableRandom random = GenerationContext.random();
         Order order = new Order();
-        order.setId(generateUniqueId());
-        order.setPetId(generatePetId());
+        order.setId(generateUniqueId().longValue());
+        order.setPetId(generatePetId(random).longValue());
         order.setQuantity(random.nextInt(MIN_QUANTITY, MAX_QUANTITY + 1));
         order.setShipDate(LocalDateTime.now().plusDays(SHIP_DATE_DAYS_OFFSET).toString());
-        order.setStatus(getRandomElement(STATUS));
+        order.setStatus(getRandomElement(STATUS, random));
         order.setComplete(random.nextBoolean());
-        return mapper.writeValueAsString(order);
+        String json = writer.writeValueAsString(order);
+        event.end(ENTITY, 1, json.length());
+        return json;
+    }
+
+    /**
+     * Appends the JSON of a random order to {@code out} without building an {@link Order}.
+     * The ship date is formatted at most once per second and shared by all threads.
+     */
+    public static JsonBuffer writeRandomOrder(JsonBuffer out) {
+        return writeRandomOrder(out, IdAllocator.ORDERS.next());
+    }
+
+    /**
+     * {@link #writeRandomOrder(JsonBuffer)} with an id chosen by the caller.
+     */
+    public static JsonBuffer writeRandomOrder(JsonBuffer out, long id) {
+        PayloadGenerationEvent event = new PayloadGenerationEvent();
+        event.begin();
+        int start = out.length();
+        SplittableRandom rnd = GenerationContext.random();
+        out.raw(ID_FIELD).number(id)
+                .raw(PET_ID_FIELD).number(rnd.nextInt(MIN_PET_ID, MAX_PET_ID))
+                .raw(QUANTITY_FIELD).number(rnd.nextInt(MIN_QUANTITY, MAX_QUANTITY + 1))
+                .raw(SHIP_DATE_FIELD).quoted(currentShipDate())
+                .raw(STATUS_FIELD).quoted(STATUS_BYTES[rnd.nextInt(STATUS_BYTES.length)])
+                .raw(COMPLETE_FIELD).bool(rnd.nextBoolean())
+                .raw((byte) '}');
+        event.end(ENTITY, 1, out.length() - start);
+        return out;
+    }
+
+    public static byte[] generateRandomOrderBytes() {
+        return writeRandomOrder(JsonBuffer.forCurrentThread()).toByteArray();
+    }
+
+    private static byte[] currentShipDate() {
+        long second = System.currentTimeMillis() / 1000;
+        ShipDate cached = shipDate;
+        if (cached.second != second) {
+            String formatted = LocalDateTime.now().plusDays(SHIP_DATE_DAYS_OFFSET).truncatedTo(ChronoUnit.SECONDS)
+                    .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            cached = new ShipDate(second, JsonBuffer.ascii(formatted));
+            shipDate = cached;
+        }
+        return cached.bytes;
     }
 
     public static Integer generateUniqueId() {
-        return ThreadLocalRandom.current().nextInt(MIN_ORDER_ID, MAX_ORDER_ID);
+        return IdAllocator.ORDERS.nextInt();
     }
 
-    private static Integer generatePetId() {
-        return ThreadLocalRandom.current().nextInt(MIN_PET_ID, MAX_PET_ID);
+    private static Integer generatePetId(SplittableRandom random) {
+        return random.nextInt(MIN_PET_ID, MAX_PET_ID);
     }
 
-    private static <T> T getRandomElement(List<T> list) {
+    private static <T> T getRandomElement(List<T> list, SplittableRandom random) {
         return list.get(random.nextInt(list.size()));
     }
 
-    static {
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        mapper.findAndRegisterModules();
+    private static class ShipDate {
+        private final long second;
+        private final byte[] bytes;
+
+        private ShipDate(long second, byte[] bytes) {
+            this.second = second;
+            this.bytes = bytes;
+        }
     }
 }
\ No newline at end of file
@@ -1,25 +1,27 @@
 package generators;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jfr.PayloadGenerationEvent;
+import models.ModelMappers;
 import models.User;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
-import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
 
 public class UserGenerator {
-    private static final ObjectMapper mapper = new ObjectMapper();
-    private static final Random random = new Random();
+    private static final String ENTITY = "user";
+    private static final ObjectWriter writer = ModelMappers.writer(User.class);
 
     private static final List<String> FIRST_NAMES = List.of("John", "Alice", "Bob", "Emma", "David");
     private static final List<String> LAST_NAMES = List.of("Doe", "Smith", "Johnson", "Brown", "Wilson");
-    private static final Long MIN_ID = 1000L;
-    private static final Long MAX_ID = 10_000L;
-    private static final Integer USERNAME_UUID_LENGTH = 8;
     private static final String PASSWORD_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
     private static final Integer PASSWORD_LENGTH = 10;
     private static final String PHONE_PREFIX = "+1";
@@ -29,30 +31,99 @@ public class UserGenerator {
     private static final String TEST_PHONE_NUMBER = "1223818010";
     private static final String TEST_PASSWORD = "testPass123";
 
+    private static final byte[][] FIRST_NAME_BYTES = FIRST_NAMES.stream().map(JsonBuffer::ascii).toArray(byte[][]::new);
+    private static final byte[][] LAST_NAME_BYTES = LAST_NAMES.stream().map(JsonBuffer::ascii).toArray(byte[][]::new);
+    private static final byte[] PASSWORD_BYTES = JsonBuffer.ascii(PASSWORD_CHARS);
+    private static final byte[] ID_FIELD = JsonBuffer.ascii("{\"id\":");
+    private static final byte[] USERNAME_FIELD = JsonBuffer.ascii(",\"username\":");
+    private static final byte[] USERNAME_PREFIX = JsonBuffer.ascii("\"user_" + IdAllocator.namespace() + "_");
+    private static final byte[] FIRST_NAME_FIELD = JsonBuffer.ascii(",\"firstName\":");
+    private static final byte[] LAST_NAME_FIELD = JsonBuffer.ascii(",\"lastName\":");
+    private static final byte[] EMAIL_FIELD = JsonBuffer.ascii(",\"email\":");
+    private static final byte[] EMAIL_DOMAIN = JsonBuffer.ascii("@example.com\"");
+    private static final byte[] PASSWORD_FIELD = JsonBuffer.ascii(",\"password\":");
+    private static final byte[] PHONE_FIELD = JsonBuffer.ascii(",\"phone\":\"" + PHONE_PREFIX);
+    private static final byte[] USER_STATUS_FIELD = JsonBuffer.ascii(",\"userStatus\":");
+
+    /**
+     * Appends the JSON of a random user to {@code out} without building a {@link User} or
+     * any intermediate Strings.
+     */
+    public static JsonBuffer writeRandomUser(JsonBuffer out) {
+        return writeRandomUser(out, IdAllocator.USERS.next(), IdAllocator.USERS.next());
+    }
+
+    /**
+     * {@link #writeRandomUser(JsonBuffer)} with an id chosen by the caller, which also makes the
+     * username unique.
+     */
+    public static JsonBuffer writeRandomUser(JsonBuffer out, long id) {
+        return writeRandomUser(out, id, id);
+    }
+
+    private static JsonBuffer writeRandomUser(JsonBuffer out, long id, long usernameSuffix) {
+        PayloadGenerationEvent event = new PayloadGenerationEvent();
+        event.begin();
+        int start = out.length();
+        SplittableRandom rnd = GenerationContext.random();
+        out.raw(ID_FIELD).number(id)
+                .raw(USERNAME_FIELD).raw(USERNAME_PREFIX).number(usernameSuffix).raw((byte) '"')
+                .raw(FIRST_NAME_FIELD).quoted(FIRST_NAME_BYTES[rnd.nextInt(FIRST_NAME_BYTES.length)])
+                .raw(LAST_NAME_FIELD).quoted(LAST_NAME_BYTES[rnd.nextInt(LAST_NAME_BYTES.length)])
+                .raw(EMAIL_FIELD).raw(USERNAME_PREFIX).number(usernameSuffix).raw(EMAIL_DOMAIN)
+                .raw(PASSWORD_FIELD).raw((byte) '"');
+        for (int i = 0; i < PASSWORD_LENGTH; i++) {
+            out.raw(PASSWORD_BYTES[rnd.nextInt(PASSWORD_BYTES.length)]);
+        }
+        out.raw((byte) '"')
+                .raw(PHONE_FIELD).zeroPadded(rnd.nextInt(PHONE_NUMBER_MAX), PHONE_NUMBER_LENGTH).raw((byte) '"')
+                .raw(USER_STATUS_FIELD).number(rnd.nextInt(2))
+                .raw((byte) '}');
+        event.end(ENTITY, 1, out.length() - start);
+        return out;
+    }
+
+    public static byte[] generateRandomUserBytes() {
+        return writeRandomUser(JsonBuffer.forCurrentThread()).toByteArray();
+    }
+
     public static String generateRandomUser() throws JsonProcessingException {
+        PayloadGenerationEvent event = new PayloadGenerationEvent();
+        event.begin();
+        String json = writer.writeValueAsString(buildRandomUser());
+        event.end(ENTITY, 1, json.length());
+        return json;
+    }
+
+    private static User buildRandomUser() {
+        SplittableRandom random = GenerationContext.random();
         User user = new User();
         user.setId(generateUniqueId());
         user.setUsername(generateUsername());
-        user.setFirstName(getRandomElement(FIRST_NAMES));
-        user.setLastName(getRandomElement(LAST_NAMES));
+        user.setFirstName(getRandomElement(FIRST_NAMES, random));
+        user.setLastName(getRandomElement(LAST_NAMES, random));
         user.setEmail(user.getUsername() + "@example.com");
-        user.setPassword(generatePassword());
-        user.setPhone(generatePhone());
+        user.setPassword(generatePassword(random));
+        user.setPhone(generatePhone(random));
         user.setUserStatus(random.nextInt(2));
-        return mapper.writeValueAsString(user);
+        return user;
     }
 
-    public static String generateTestUser() throws JsonProcessingException {
+    public static String generateTestUser(String username) throws JsonProcessingException {
+        PayloadGenerationEvent event = new PayloadGenerationEvent();
+        event.begin();
         User user = new User();
         user.setId(generateUniqueId());
-        user.setUsername("testuser");
+        user.setUsername(username);
         user.setFirstName("Ivan");
         user.setLastName("Ivanov");
         user.setEmail("ivan@example.com");
         user.setPassword(TEST_PASSWORD);
         user.setPhone(TEST_PHONE_NUMBER);
         user.setUserStatus(TEST_USER_STATUS);
-        return mapper.writeValueAsString(user);
+        String json = writer.writeValueAsString(user);
+        event.end(ENTITY, 1, json.length());
+        return json;
     }
 
     public static String generateUserArrayJson(int count) throws JsonProcessingException {
@@ -63,15 +134,42 @@ public class UserGenerator {
         return "[" + String.join(",", users) + "]";
     }
 
+    /**
+     * Writes a JSON array of {@code count} random users to {@code out} one element at a time,
+     * so memory use does not depend on {@code count}. The stream is flushed but not closed.
+     */
+    public static void writeUserArray(OutputStream out, int count) throws IOException {
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (int i = 0; i < count; i++) {
+                writer.writeValue(generator, buildRandomUser());
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Lazily generated JSON array of {@code count} random users, for request bodies that
+     * must be streamed rather than built in memory.
+     */
+    public static InputStream streamUserArray(int count) {
+        return new UserArrayInputStream(count);
+    }
+
     private static Long generateUniqueId() {
-        return ThreadLocalRandom.current().nextLong(MIN_ID, MAX_ID);
+        return IdAllocator.USERS.next();
     }
 
     public static String generateUsername() {
-        return "user_" + UUID.randomUUID().toString().substring(0, USERNAME_UUID_LENGTH);
+        return "user_" + IdAllocator.namespace() + "_" + IdAllocator.USERS.next();
+    }
+
+    public static String generateTestUsername() {
+        return "testuser_" + IdAllocator.namespace() + "_" + IdAllocator.USERS.next();
     }
 
-    private static String generatePassword() {
+    private static String generatePassword(SplittableRandom random) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < PASSWORD_LENGTH; i++) {
             sb.append(PASSWORD_CHARS.charAt(random.nextInt(PASSWORD_CHARS.length())));
@@ -79,15 +177,80 @@ public class UserGenerator {
         return sb.toString();
     }
 
-    private static String generatePhone() {
+    private static String generatePhone(SplittableRandom random) {
         return PHONE_PREFIX + String.format("%0" + PHONE_NUMBER_LENGTH + "d", random.nextInt(PHONE_NUMBER_MAX));
     }
 
-    private static <T> T getRandomElement(List<T> list) {
+    private static <T> T getRandomElement(List<T> list, SplittableRandom random) {
         return list.get(random.nextInt(list.size()));
     }
 
-    static {
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+    private static class UserArrayInputStream extends InputStream {
+        private static final int USERS_PER_FILL = 64;
+
+        private final ExposedBuffer buffer = new ExposedBuffer();
+        private final JsonGenerator generator;
+        private int remaining;
+        private int position;
+        private boolean finished;
+
+        UserArrayInputStream(int count) {
+            this.remaining = count;
+            try {
+                this.generator = writer.createGenerator(buffer);
+                generator.writeStartArray();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            return buffer.bytes()[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.size() - position);
+            System.arraycopy(buffer.bytes(), position, target, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean ensureAvailable() throws IOException {
+            while (position == buffer.size()) {
+                if (finished) {
+                    return false;
+                }
+                buffer.reset();
+                position = 0;
+                for (int i = 0; i < USERS_PER_FILL && remaining > 0; i++, remaining--) {
+                    writer.writeValue(generator, buildRandomUser());
+                }
+                if (remaining == 0) {
+                    generator.writeEndArray();
+                    generator.close();
+                    finished = true;
+                } else {
+                    generator.flush();
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class ExposedBuffer extends ByteArrayOutputStream {
+        byte[] bytes() {
+            return buf;
+        }
     }
 }
\ No newline at end of file
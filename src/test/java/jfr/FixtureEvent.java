@@ -0,0 +1,45 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Creation or cleanup of one test fixture on the backend, including the HTTP exchanges it
+ * takes, which are recorded as nested {@link HttpExchangeEvent}s on the same thread.
+ */
+@Name("petstore.Fixture")
+@Label("Fixture")
+@Category({"Petstore", "Fixtures"})
+@StackTrace(false)
+public class FixtureEvent extends Event {
+    public static final String CREATE = "create";
+    public static final String CLEANUP = "cleanup";
+
+    @Label("Action")
+    @Description("create or cleanup")
+    String action;
+
+    @Label("Fixture Type")
+    String fixtureType;
+
+    @Label("Fixture Id")
+    @Description("Id or username of the fixture, empty when creation failed")
+    String fixtureId;
+
+    @Label("Success")
+    boolean success;
+
+    public void end(String action, String fixtureType, String fixtureId, boolean success) {
+        if (shouldCommit()) {
+            this.action = action;
+            this.fixtureType = fixtureType;
+            this.fixtureId = fixtureId;
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package jfr;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Emits an {@link HttpExchangeEvent} per RestAssured request while a recording with the
+ * event enabled is running, e.g. with {@code -Pjfr}. Otherwise the request is passed on
+ * untouched. Response bodies are never read here, so streamed responses stay streamed.
+ */
+public class HttpEventFilter implements Filter {
+    private static final HttpEventFilter GLOBAL = new HttpEventFilter();
+
+    public static HttpEventFilter global() {
+        return GLOBAL;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        HttpExchangeEvent event = new HttpExchangeEvent();
+        if (!event.isEnabled()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        event.begin();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            commit(event, requestSpec, null, e);
+            throw e;
+        }
+        commit(event, requestSpec, response, null);
+        return response;
+    }
+
+    private static void commit(HttpExchangeEvent event, FilterableRequestSpecification requestSpec, Response response,
+                               RuntimeException failure) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        String path = requestSpec.getUserDefinedPath();
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        event.method = requestSpec.getMethod();
+        event.pathTemplate = path.isEmpty() ? "/" : path;
+        event.requestBytes = bodyBytes(requestSpec.getBody());
+        event.status = response != null ? response.getStatusCode() : -1;
+        event.responseBytes = response != null ? contentLength(response) : -1;
+        event.failure = failure != null ? failure.toString() : null;
+        event.commit();
+    }
+
+    private static long bodyBytes(Object body) {
+        if (body == null) {
+            return 0;
+        }
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        if (body instanceof String) {
+            return ((String) body).getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (body instanceof File) {
+            return ((File) body).length();
+        }
+        return -1;
+    }
+
+    private static long contentLength(Response response) {
+        String header = response.getHeader("Content-Length");
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
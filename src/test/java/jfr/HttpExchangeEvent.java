@@ -0,0 +1,43 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One RestAssured request and its response, committed by {@link HttpEventFilter}. The
+ * duration spans the filters after it and the exchange itself.
+ */
+@Name("petstore.HttpExchange")
+@Label("HTTP Exchange")
+@Category({"Petstore", "HTTP"})
+@StackTrace(false)
+public class HttpExchangeEvent extends Event {
+    @Label("Method")
+    String method;
+
+    @Label("Path Template")
+    @Description("Path as written in the test, e.g. /pet/{petId}, without the query")
+    String pathTemplate;
+
+    @Label("Status")
+    @Description("Response status, or -1 when no response arrived")
+    int status;
+
+    @Label("Request Bytes")
+    @Description("Body size, or -1 for bodies of unknown length such as streams")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @Description("Content-Length of the response, or -1 when it was chunked or missing")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Failure")
+    String failure;
+}
@@ -0,0 +1,41 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Generation of one or more payloads by the generators. Callers create the event, call
+ * {@link #begin()} and finish with {@link #end(String, int, long)}; with recording off both
+ * are a check of a flag the JIT folds away.
+ */
+@Name("petstore.PayloadGeneration")
+@Label("Payload Generation")
+@Category({"Petstore", "Generators"})
+@StackTrace(false)
+public class PayloadGenerationEvent extends Event {
+    @Label("Entity")
+    @Description("pet, order or user")
+    String entity;
+
+    @Label("Count")
+    int count;
+
+    @Label("Bytes")
+    @Description("JSON size, or -1 when the payload is not serialized (columnar batches)")
+    @DataAmount
+    long bytes;
+
+    public void end(String entity, int count, long bytes) {
+        if (shouldCommit()) {
+            this.entity = entity;
+            this.count = count;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
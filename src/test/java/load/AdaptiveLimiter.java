@@ -0,0 +1,214 @@
+package load;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit for outgoing requests that adapts to the backend, TCP Vegas style: the
+ * lowest RTT seen is taken as the no-load latency, and {@code limit * (1 - minRtt / rtt)}
+ * estimates how many requests are queued at the backend. While that queue is short the limit
+ * grows, when it gets long the limit shrinks, and a failed request cuts it by
+ * {@link #DROP_FACTOR}, so it settles around the concurrency the backend can serve without
+ * latency blowing up. While callers use most of the limit, the no-load RTT is re-learned now
+ * and then so it follows a backend that gets faster or slower; the limit is halved for that,
+ * as in BBR's RTT probe, because while the backend is queueing no request sees the no-load
+ * RTT. A limit callers leave mostly unused is neither probed nor changed.
+ * <p>
+ * Waiting uses a {@link ReentrantLock} rather than a monitor, so virtual threads blocked on a
+ * permit do not pin their carriers. Throughput is an exponentially decaying rate of completed
+ * requests per second.
+ */
+public class AdaptiveLimiter {
+    private static final double DROP_FACTOR = 0.9;
+    private static final double RATE_TAU_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int PROBE_SAMPLES_PER_PERMIT = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitFreed = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private long minRttNanos;
+    private long samplesSinceProbe;
+    private long drainSamples;
+    private long completed;
+    private double rate;
+    private long lastCompletionNanos;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits: initial=" + initialLimit + ", min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    public void acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) limit) {
+                permitFreed.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a permit only if one is free right now; open-model drivers drop the request otherwise.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit and feeds the request's round trip into the limit. Failures count as
+     * drops: they usually mean the backend is overloaded, whatever their RTT.
+     */
+    public void release(long rttNanos, boolean success) {
+        lock.lock();
+        try {
+            int inFlightAtStart = inFlight;
+            inFlight--;
+            long now = System.nanoTime();
+            if (lastCompletionNanos != 0) {
+                rate *= Math.exp(-(now - lastCompletionNanos) / RATE_TAU_NANOS);
+            }
+            rate += TimeUnit.SECONDS.toNanos(1) / RATE_TAU_NANOS;
+            lastCompletionNanos = now;
+            completed++;
+            update(Math.max(1, rttNanos), success, inFlightAtStart);
+            permitFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, boolean success, int inFlightAtStart) {
+        // Callers using less than half the limit cannot queue at the backend, so there is no
+        // no-load RTT to re-learn, and a cut could not be grown back until they use more.
+        boolean saturated = inFlightAtStart * 2 >= limit;
+        if (saturated && ++samplesSinceProbe >= PROBE_SAMPLES_PER_PERMIT * (long) limit) {
+            minRttNanos = 0;
+            samplesSinceProbe = 0;
+            limit = Math.max(minLimit, limit / 2);
+            // Requests sent before the cut still report queued RTTs; let them finish first.
+            drainSamples = 2 * (long) limit;
+        }
+        if (minRttNanos == 0 || rttNanos < minRttNanos) {
+            minRttNanos = rttNanos;
+        }
+        if (drainSamples > 0) {
+            drainSamples--;
+            return;
+        }
+        double step = Math.max(1, Math.log10(limit));
+        double next;
+        if (!success) {
+            next = limit * DROP_FACTOR;
+        } else if (!saturated) {
+            // Callers are not using the current limit; raising it would not be measured.
+            return;
+        } else {
+            double queued = limit * (1 - (double) minRttNanos / rttNanos);
+            if (queued <= step) {
+                next = limit + 3 * step;
+            } else if (queued < 3 * step) {
+                next = limit + step;
+            } else if (queued > 6 * step) {
+                next = limit - step;
+            } else {
+                return;
+            }
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCompleted() {
+        lock.lock();
+        try {
+            return completed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completed requests per second, decayed to now so a stalled backend shows up as a
+     * falling rate even while nothing completes.
+     */
+    public double getThroughput() {
+        lock.lock();
+        try {
+            if (lastCompletionNanos == 0) {
+                return 0;
+            }
+            return rate * Math.exp(-(System.nanoTime() - lastCompletionNanos) / RATE_TAU_NANOS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getMinRttMillis() {
+        lock.lock();
+        try {
+            return minRttNanos / 1e6;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Prints {@link #format()} every {@code interval} until the returned handle is closed.
+     */
+    public AutoCloseable printEvery(Duration interval, String label) {
+        ScheduledExecutorService printer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "adaptive-limiter-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, interval.toMillis());
+        printer.scheduleAtFixedRate(() -> System.out.println(label + ": " + format()), period, period, TimeUnit.MILLISECONDS);
+        return printer::shutdownNow;
+    }
+
+    public String format() {
+        return String.format("limit=%d in-flight=%d throughput=%.1f/s min RTT=%.1f ms completed=%d",
+                getLimit(), getInFlight(), getThroughput(), getMinRttMillis(), getCompleted());
+    }
+}
@@ -0,0 +1,54 @@
+package load;
+
+import metrics.EndpointSnapshot;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class LoadReport {
+    private final double targetRate;
+    private final long scheduled;
+    private final long dropped;
+    private final long elapsedNanos;
+    private final Map<String, EndpointSnapshot> endpoints;
+
+    public LoadReport(double targetRate, long scheduled, long dropped, long elapsedNanos,
+                      Map<String, EndpointSnapshot> endpoints) {
+        this.targetRate = targetRate;
+        this.scheduled = scheduled;
+        this.dropped = dropped;
+        this.elapsedNanos = elapsedNanos;
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Requests that were sent and answered; dropped arrivals are only counted as errors.
+     */
+    public long getCompleted() {
+        return endpoints.values().stream().mapToLong(EndpointSnapshot::getCount).sum();
+    }
+
+    public long getErrors() {
+        return endpoints.values().stream().mapToLong(EndpointSnapshot::getErrors).sum();
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public double getAchievedThroughput() {
+        return getCompleted() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public Map<String, EndpointSnapshot> getEndpoints() {
+        return endpoints;
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("target=%.0f req/s achieved=%.1f req/s scheduled=%d completed=%d errors=%d dropped=%d%n",
+                targetRate, getAchievedThroughput(), scheduled, getCompleted(), getErrors(), dropped));
+        endpoints.values().forEach(endpoint -> sb.append(endpoint.format()).append(System.lineSeparator()));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package load;
+
+/**
+ * One request of a load mix, named after the endpoint it hits.
+ */
+public class LoadScenario {
+    private final String endpoint;
+    private final Request request;
+
+    public LoadScenario(String endpoint, Request request) {
+        this.endpoint = endpoint;
+        this.request = request;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Executes the request and returns the HTTP status code.
+     */
+    public int execute() throws Exception {
+        return request.execute();
+    }
+
+    @FunctionalInterface
+    public interface Request {
+        int execute() throws Exception;
+    }
+}
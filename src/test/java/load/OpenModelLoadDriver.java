@@ -0,0 +1,111 @@
+package load;
+
+import metrics.EndpointHistograms;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are started on a fixed schedule regardless of how long
+ * earlier ones take, and latency is measured from the scheduled start rather than the actual
+ * send, so a stalled backend shows up in the histograms instead of silently lowering the rate
+ * (coordinated omission).
+ * <p>
+ * At most {@code maxInFlight} requests are outstanding. An arrival beyond that is dropped and
+ * counted as an error; it stays out of the latency histograms, where its near-zero wait would
+ * pull the percentiles down. Adapting concurrency to the backend is
+ * left to the closed-model {@link SessionSimulator}: an adaptive limit here would decide how
+ * much of the offered load gets measured.
+ */
+public class OpenModelLoadDriver {
+    private final List<LoadScenario> scenarios;
+    private final double requestsPerSecond;
+    private final Duration duration;
+    private final int maxInFlight;
+
+    public OpenModelLoadDriver(List<LoadScenario> scenarios, double requestsPerSecond, Duration duration, int maxInFlight) {
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("At least one scenario is required");
+        }
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + requestsPerSecond);
+        }
+        this.scenarios = List.copyOf(scenarios);
+        this.requestsPerSecond = requestsPerSecond;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public LoadReport run() throws InterruptedException {
+        warmUp();
+        EndpointHistograms histograms = new EndpointHistograms();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        LongAdder dropped = new LongAdder();
+        AtomicLong lastCompletion = new AtomicLong();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "load-driver-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long durationNanos = duration.toNanos();
+        long start = System.nanoTime();
+        long scheduled = 0;
+        try {
+            for (long i = 0; i * intervalNanos < durationNanos; i++) {
+                long intendedStart = start + i * intervalNanos;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                scheduled++;
+                LoadScenario scenario = scenarios.get((int) (i % scenarios.size()));
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                    histograms.recordUnsent(scenario.getEndpoint());
+                    continue;
+                }
+                executor.execute(() -> {
+                    boolean success;
+                    try {
+                        int status = scenario.execute();
+                        success = status >= 200 && status < 300;
+                    } catch (Exception e) {
+                        success = false;
+                    }
+                    long now = System.nanoTime();
+                    histograms.record(scenario.getEndpoint(), now - intendedStart, success);
+                    lastCompletion.accumulateAndGet(now, Math::max);
+                    inFlight.release();
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        long elapsed = Math.max(lastCompletion.get(), System.nanoTime()) - start;
+        return new LoadReport(requestsPerSecond, scheduled, dropped.sum(), elapsed, histograms.snapshot());
+    }
+
+    /**
+     * Runs every scenario once outside the measurement so class loading and first-call
+     * initialization of the HTTP stack do not land in the histograms.
+     */
+    private void warmUp() {
+        for (LoadScenario scenario : scenarios) {
+            try {
+                scenario.execute();
+            } catch (Exception e) {
+                System.err.println("Warm-up of " + scenario.getEndpoint() + " failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package load;
+
+import dataset.Dataset;
+import generators.GenerationContext;
+import generators.PetGenerator;
+import generators.StoreGenerator;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * The request flows of PetTest, StoreTest and UserTest as a load mix. The login scenario needs
+ * an existing user, which the caller creates (a {@code @TestUser} fixture) and removes again.
+ */
+public final class PetstoreScenarios {
+    private static final String PASSWORD = "testPass123";
+
+    private PetstoreScenarios() {
+    }
+
+    public static List<LoadScenario> all(String username) {
+        return List.of(createPet(), findByStatus(), placeOrder(), getInventory(), login(username), logout());
+    }
+
+    /**
+     * Like {@link #all(String)}, but pets are posted from a pre-built dataset instead of being
+     * generated per request.
+     */
+    public static List<LoadScenario> all(Dataset pets, String username) {
+        return List.of(createPet(pets), findByStatus(), placeOrder(), getInventory(), login(username), logout());
+    }
+
+    public static LoadScenario createPet(Dataset pets) {
+        return new LoadScenario("POST /pet", () -> given()
+                .contentType("application/json")
+                .body(pets.recordBytes(GenerationContext.random().nextLong(pets.size())))
+                .post("/pet")
+                .statusCode());
+    }
+
+    public static LoadScenario createPet() {
+        return new LoadScenario("POST /pet", () -> given()
+                .contentType("application/json")
+                .body(PetGenerator.generateRandomPet())
+                .post("/pet")
+                .statusCode());
+    }
+
+    public static LoadScenario findByStatus() {
+        return new LoadScenario("GET /pet/findByStatus", () -> given()
+                .queryParam("status", "available")
+                .get("/pet/findByStatus")
+                .statusCode());
+    }
+
+    public static LoadScenario placeOrder() {
+        return new LoadScenario("POST /store/order", () -> given()
+                .contentType("application/json")
+                .body(StoreGenerator.generateRandomOrder())
+                .post("/store/order")
+                .statusCode());
+    }
+
+    public static LoadScenario getInventory() {
+        return new LoadScenario("GET /store/inventory", () -> given()
+                .get("/store/inventory")
+                .statusCode());
+    }
+
+    public static LoadScenario login(String username) {
+        return new LoadScenario("GET /user/login", () -> given()
+                .queryParam("username", username)
+                .queryParam("password", PASSWORD)
+                .get("/user/login")
+                .statusCode());
+    }
+
+    public static LoadScenario logout() {
+        return new LoadScenario("GET /user/logout", () -> given()
+                .get("/user/logout")
+                .statusCode());
+    }
+}
@@ -0,0 +1,96 @@
+package load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples heap, GC time, file descriptors and threads through the platform MX beans at a
+ * fixed interval, printing each sample, for {@link SoakReport} to fit trends to.
+ * <p>
+ * Every sample forces a full collection first, so the heap figure is what is actually
+ * retained rather than wherever the allocation cycle happened to be. The time of these
+ * forced collections is kept out of the reported GC time.
+ */
+public class ResourceMonitor implements AutoCloseable {
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final List<ResourceSample> samples = new ArrayList<>();
+    private final long start = System.nanoTime();
+    private final ScheduledExecutorService sampler;
+    private final String label;
+    private long forcedGcMillis;
+
+    private ResourceMonitor(Duration interval, String label) {
+        this.label = label;
+        this.sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resource-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, interval.toMillis());
+        sampler.scheduleAtFixedRate(this::sample, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts sampling now and then every {@code interval} until closed.
+     */
+    public static ResourceMonitor start(Duration interval, String label) {
+        return new ResourceMonitor(interval, label);
+    }
+
+    public synchronized List<ResourceSample> getSamples() {
+        return List.copyOf(samples);
+    }
+
+    /**
+     * Trends over the samples taken so far, ignoring those of the first {@code warmUp}, while
+     * caches and pools are still filling.
+     */
+    public SoakReport report(Duration warmUp) {
+        return new SoakReport(getSamples(), warmUp);
+    }
+
+    /**
+     * Takes a last sample and stops.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        sampler.shutdown();
+        sampler.awaitTermination(1, TimeUnit.MINUTES);
+        sample();
+    }
+
+    private synchronized void sample() {
+        long gcBefore = gcMillis();
+        memory.gc();
+        forcedGcMillis += gcMillis() - gcBefore;
+        ResourceSample sample = new ResourceSample(System.nanoTime() - start, memory.getHeapMemoryUsage().getUsed(),
+                gcMillis() - forcedGcMillis, openFileDescriptors(), ManagementFactory.getThreadMXBean().getThreadCount());
+        samples.add(sample);
+        System.out.println(label + ": " + sample.format());
+    }
+
+    private long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    private long openFileDescriptors() {
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            return ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,56 @@
+package load;
+
+/**
+ * JVM resource usage at one point of a soak run.
+ */
+public class ResourceSample {
+    private final long elapsedNanos;
+    private final long heapAfterGcBytes;
+    private final long gcMillis;
+    private final long openFileDescriptors;
+    private final int threads;
+
+    public ResourceSample(long elapsedNanos, long heapAfterGcBytes, long gcMillis, long openFileDescriptors, int threads) {
+        this.elapsedNanos = elapsedNanos;
+        this.heapAfterGcBytes = heapAfterGcBytes;
+        this.gcMillis = gcMillis;
+        this.openFileDescriptors = openFileDescriptors;
+        this.threads = threads;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Heap in use right after a full collection, i.e. what the run retains.
+     */
+    public long getHeapAfterGcBytes() {
+        return heapAfterGcBytes;
+    }
+
+    /**
+     * Time spent in collections the workload caused since the JVM started, without the
+     * collections forced for sampling.
+     */
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    /**
+     * Open file descriptors of the process (sockets included), or -1 where the OS does not
+     * report them.
+     */
+    public long getOpenFileDescriptors() {
+        return openFileDescriptors;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public String format() {
+        return String.format("t=%ds heap after GC=%.1f MB GC=%d ms fds=%d threads=%d",
+                elapsedNanos / 1_000_000_000L, heapAfterGcBytes / 1048576.0, gcMillis, openFileDescriptors, threads);
+    }
+}
@@ -0,0 +1,51 @@
+package load;
+
+import metrics.EndpointSnapshot;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class SessionReport {
+    private final int users;
+    private final long completedSessions;
+    private final long failedSessions;
+    private final long elapsedNanos;
+    private final Map<String, EndpointSnapshot> steps;
+
+    public SessionReport(int users, long completedSessions, long failedSessions, long elapsedNanos,
+                         Map<String, EndpointSnapshot> steps) {
+        this.users = users;
+        this.completedSessions = completedSessions;
+        this.failedSessions = failedSessions;
+        this.elapsedNanos = elapsedNanos;
+        this.steps = steps;
+    }
+
+    public long getCompletedSessions() {
+        return completedSessions;
+    }
+
+    public long getFailedSessions() {
+        return failedSessions;
+    }
+
+    public long getErrors() {
+        return steps.values().stream().mapToLong(EndpointSnapshot::getErrors).sum();
+    }
+
+    public double getSessionsPerSecond() {
+        return (completedSessions + failedSessions) / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public Map<String, EndpointSnapshot> getSteps() {
+        return steps;
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("users=%d sessions: completed=%d failed=%d rate=%.1f/s step errors=%d%n",
+                users, completedSessions, failedSessions, getSessionsPerSecond(), getErrors()));
+        steps.values().forEach(step -> sb.append(step.format()).append(System.lineSeparator()));
+        return sb.toString();
+    }
+}
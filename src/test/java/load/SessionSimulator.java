@@ -0,0 +1,152 @@
+package load;
+
+import generators.UserGenerator;
+import metrics.EndpointHistograms;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Simulates independent users, each on its own virtual thread, running
+ * create-user, login, reads, logout and delete cycles with think time between steps.
+ * Blocking in a step parks only the virtual thread, so tens of thousands of concurrent
+ * sessions fit in one JVM.
+ * <p>
+ * Requests themselves are gated by an {@link AdaptiveLimiter} capped at no more than the HTTP
+ * connection pool: the RestAssured call path pins its carrier thread, so a virtual thread
+ * must never wait for a pooled connection inside it, or every carrier ends up blocked on
+ * connections held by unmounted threads. Below that cap the limiter finds the concurrency the
+ * backend serves best; its limit and throughput are printed every second.
+ */
+public class SessionSimulator {
+    private static final String PASSWORD = "testPass123";
+    private static final int INITIAL_LIMIT = 4;
+
+    private final int users;
+    private final int cyclesPerUser;
+    private final Duration thinkTime;
+    private final Duration rampUp;
+    private final AdaptiveLimiter limiter;
+
+    public SessionSimulator(int users, int cyclesPerUser, Duration thinkTime, Duration rampUp, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.users = users;
+        this.cyclesPerUser = cyclesPerUser;
+        this.thinkTime = thinkTime;
+        this.rampUp = rampUp;
+        this.limiter = new AdaptiveLimiter(Math.min(INITIAL_LIMIT, maxInFlight), 1, maxInFlight);
+    }
+
+    public SessionReport run() throws InterruptedException {
+        EndpointHistograms steps = new EndpointHistograms();
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long rampUpNanos = rampUp.toNanos();
+        long start = System.nanoTime();
+        AutoCloseable metrics = limiter.printEvery(Duration.ofSeconds(1), "sessions");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                long startOffset = users > 1 ? rampUpNanos * i / (users - 1) : 0;
+                executor.execute(() -> {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(startOffset);
+                        for (int cycle = 0; cycle < cyclesPerUser; cycle++) {
+                            if (runCycle(steps)) {
+                                completed.increment();
+                            } else {
+                                failed.increment();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        } finally {
+            closeQuietly(metrics);
+        }
+        return new SessionReport(users, completed.sum(), failed.sum(), System.nanoTime() - start, steps.snapshot());
+    }
+
+    private boolean runCycle(EndpointHistograms steps) throws InterruptedException {
+        String username = UserGenerator.generateTestUsername();
+        boolean ok = step(steps, "POST /user", () -> given()
+                .contentType("application/json")
+                .body(UserGenerator.generateTestUser(username))
+                .post("/user")
+                .statusCode());
+        if (!ok) {
+            return false;
+        }
+        try {
+            ok = step(steps, "GET /user/login", () -> given()
+                    .queryParam("username", username)
+                    .queryParam("password", PASSWORD)
+                    .get("/user/login")
+                    .statusCode())
+                    && step(steps, "GET /user/{username}", () -> given()
+                    .pathParam("username", username)
+                    .get("/user/{username}")
+                    .statusCode())
+                    && step(steps, "GET /pet/findByStatus", () -> given()
+                    .queryParam("status", "available")
+                    .get("/pet/findByStatus")
+                    .statusCode())
+                    && step(steps, "GET /store/inventory", () -> given()
+                    .get("/store/inventory")
+                    .statusCode())
+                    && step(steps, "GET /user/logout", () -> given()
+                    .get("/user/logout")
+                    .statusCode());
+        } finally {
+            ok &= step(steps, "DELETE /user/{username}", () -> given()
+                    .pathParam("username", username)
+                    .delete("/user/{username}")
+                    .statusCode());
+        }
+        return ok;
+    }
+
+    private boolean step(EndpointHistograms steps, String name, LoadScenario.Request request) throws InterruptedException {
+        limiter.acquire();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            int status = request.execute();
+            success = status >= 200 && status < 300;
+        } catch (Exception e) {
+            success = false;
+        } finally {
+            limiter.release(System.nanoTime() - start, success);
+        }
+        steps.record(name, System.nanoTime() - start, success);
+        think();
+        return success;
+    }
+
+    public AdaptiveLimiter getLimiter() {
+        return limiter;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    private void think() throws InterruptedException {
+        long thinkMillis = thinkTime.toMillis();
+        if (thinkMillis > 0) {
+            Thread.sleep(thinkMillis / 2 + ThreadLocalRandom.current().nextLong(thinkMillis + 1));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package load;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Least-squares trend lines through the {@link ResourceSample}s of a soak run, as growth per
+ * hour. A client that releases what it uses settles on a plateau after warm-up, so a steady
+ * slope in retained heap or open file descriptors is a leak however small the samples look.
+ */
+public class SoakReport {
+    private static final double NANOS_PER_HOUR = TimeUnit.HOURS.toNanos(1);
+    private static final int MIN_SAMPLES = 3;
+
+    private final List<ResourceSample> samples;
+    private final Duration warmUp;
+
+    public SoakReport(List<ResourceSample> samples, Duration warmUp) {
+        this.warmUp = warmUp;
+        this.samples = samples.stream()
+                .filter(sample -> sample.getElapsedNanos() >= warmUp.toNanos())
+                .collect(Collectors.toList());
+        if (this.samples.size() < MIN_SAMPLES) {
+            throw new IllegalArgumentException("A trend needs at least " + MIN_SAMPLES + " samples after the "
+                    + warmUp.toSeconds() + " s warm-up, got " + this.samples.size());
+        }
+    }
+
+    public List<ResourceSample> getSamples() {
+        return samples;
+    }
+
+    public double getHeapGrowthBytesPerHour() {
+        return slopePerHour(ResourceSample::getHeapAfterGcBytes);
+    }
+
+    /**
+     * Growth of open file descriptors per hour, NaN where the OS does not report them.
+     */
+    public double getFileDescriptorGrowthPerHour() {
+        return samples.get(0).getOpenFileDescriptors() < 0 ? Double.NaN : slopePerHour(ResourceSample::getOpenFileDescriptors);
+    }
+
+    public double getThreadGrowthPerHour() {
+        return slopePerHour(ResourceSample::getThreads);
+    }
+
+    /**
+     * Share of wall-clock time the workload spent in GC after warm-up.
+     */
+    public double getGcTimeFraction() {
+        ResourceSample first = samples.get(0);
+        ResourceSample last = samples.get(samples.size() - 1);
+        return (last.getGcMillis() - first.getGcMillis()) / (double) TimeUnit.NANOSECONDS.toMillis(
+                Math.max(1, last.getElapsedNanos() - first.getElapsedNanos()));
+    }
+
+    public String format() {
+        ResourceSample last = samples.get(samples.size() - 1);
+        return String.format("%d samples after %d s warm-up: heap after GC %+.2f MB/h (now %.1f MB), "
+                        + "fds %+.1f/h (now %d), threads %+.1f/h (now %d), GC %.2f%% of time%n",
+                samples.size(), warmUp.toSeconds(), getHeapGrowthBytesPerHour() / 1048576.0,
+                last.getHeapAfterGcBytes() / 1048576.0, getFileDescriptorGrowthPerHour(), last.getOpenFileDescriptors(),
+                getThreadGrowthPerHour(), last.getThreads(), getGcTimeFraction() * 100);
+    }
+
+    private double slopePerHour(ToDoubleFunction<ResourceSample> metric) {
+        double meanX = 0;
+        double meanY = 0;
+        for (ResourceSample sample : samples) {
+            meanX += sample.getElapsedNanos() / NANOS_PER_HOUR;
+            meanY += metric.applyAsDouble(sample);
+        }
+        meanX /= samples.size();
+        meanY /= samples.size();
+        double covariance = 0;
+        double variance = 0;
+        for (ResourceSample sample : samples) {
+            double dx = sample.getElapsedNanos() / NANOS_PER_HOUR - meanX;
+            covariance += dx * (metric.applyAsDouble(sample) - meanY);
+            variance += dx * dx;
+        }
+        return covariance / variance;
+    }
+}
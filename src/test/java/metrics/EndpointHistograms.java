@@ -0,0 +1,60 @@
+package metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms. Recording is wait-free ({@link Recorder}); snapshots
+ * accumulate every interval recorded so far, so they can be taken repeatedly during a run.
+ */
+public class EndpointHistograms {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        stats.recorder.recordValue(micros);
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Counts a request that failed without being sent, so it has no latency to record.
+     */
+    public void recordUnsent(String endpoint) {
+        endpoints.computeIfAbsent(endpoint, name -> new Endpoint()).errors.increment();
+    }
+
+    public Map<String, EndpointSnapshot> snapshot() {
+        Map<String, EndpointSnapshot> result = new TreeMap<>();
+        endpoints.forEach((name, stats) -> result.put(name, stats.snapshot(name)));
+        return result;
+    }
+
+    public EndpointSnapshot snapshot(String endpoint) {
+        Endpoint stats = endpoints.get(endpoint);
+        return stats == null ? new EndpointSnapshot(endpoint, new Histogram(SIGNIFICANT_DIGITS), 0) : stats.snapshot(endpoint);
+    }
+
+    private static class Endpoint {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram accumulated = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        private synchronized EndpointSnapshot snapshot(String name) {
+            accumulated.add(recorder.getIntervalHistogram());
+            return new EndpointSnapshot(name, accumulated.copy(), errors.sum());
+        }
+    }
+}
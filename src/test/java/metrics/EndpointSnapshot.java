@@ -0,0 +1,41 @@
+package metrics;
+
+import org.HdrHistogram.Histogram;
+
+public class EndpointSnapshot {
+    private final String endpoint;
+    private final Histogram histogram;
+    private final long errors;
+
+    EndpointSnapshot(String endpoint, Histogram histogram, long errors) {
+        this.endpoint = endpoint;
+        this.histogram = histogram;
+        this.errors = errors;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public String format() {
+        return String.format("%-28s count=%-8d errors=%-6d p50=%8.2fms p99=%8.2fms p99.9=%8.2fms max=%8.2fms",
+                endpoint, getCount(), errors, percentileMillis(50), percentileMillis(99), percentileMillis(99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+}
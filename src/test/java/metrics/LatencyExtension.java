@@ -0,0 +1,48 @@
+package metrics;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Gives every test class its own {@link EndpointHistograms}, filled by {@link LatencyFilter}
+ * while the class's tests run. Declare an {@code EndpointHistograms} parameter on an
+ * {@code @AfterAll} method to assert on the class's latencies once all its tests are done.
+ */
+public class LatencyExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback, ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(LatencyExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        classHistograms(context);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        LatencyFilter.global().bind(classHistograms(context));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        LatencyFilter.global().unbind();
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == EndpointHistograms.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return classHistograms(extensionContext);
+    }
+
+    private static EndpointHistograms classHistograms(ExtensionContext context) {
+        Class<?> testClass = context.getRequiredTestClass();
+        return context.getStore(NAMESPACE).getOrComputeIfAbsent(testClass, key -> new EndpointHistograms(),
+                EndpointHistograms.class);
+    }
+}
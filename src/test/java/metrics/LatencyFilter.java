@@ -0,0 +1,69 @@
+package metrics;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records the latency of every RestAssured request under "METHOD /path/{template}", so all
+ * requests to {@code /pet/{petId}} share one histogram whatever the id. Samples go into the
+ * run-wide histograms and, when the calling thread is bound to one, a narrower scope such as
+ * the current test class (see {@link LatencyExtension}).
+ */
+public class LatencyFilter implements Filter {
+    private static final LatencyFilter GLOBAL = new LatencyFilter();
+
+    private final EndpointHistograms run = new EndpointHistograms();
+    private final ThreadLocal<EndpointHistograms> scope = new ThreadLocal<>();
+
+    public static LatencyFilter global() {
+        return GLOBAL;
+    }
+
+    public EndpointHistograms getRunHistograms() {
+        return run;
+    }
+
+    void bind(EndpointHistograms histograms) {
+        scope.set(histograms);
+    }
+
+    void unbind() {
+        scope.remove();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String endpoint = endpoint(requestSpec);
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            record(endpoint, System.nanoTime() - start, false);
+            throw e;
+        }
+        record(endpoint, System.nanoTime() - start, response.getStatusCode() < 500);
+        return response;
+    }
+
+    private void record(String endpoint, long latencyNanos, boolean success) {
+        run.record(endpoint, latencyNanos, success);
+        EndpointHistograms scoped = scope.get();
+        if (scoped != null) {
+            scoped.record(endpoint, latencyNanos, success);
+        }
+    }
+
+    static String endpoint(FilterableRequestSpecification requestSpec) {
+        String path = requestSpec.getUserDefinedPath();
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        return requestSpec.getMethod() + " " + (path.isEmpty() ? "/" : path);
+    }
+}
@@ -0,0 +1,52 @@
+package metrics;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+/**
+ * Hamcrest matchers for latency SLAs, e.g.
+ * {@code assertThat(latencies.snapshot("POST /store/order"), p99Below(500))}. An endpoint with no
+ * recorded requests never matches, so a renamed path cannot pass an SLA by accident.
+ */
+public final class LatencyMatchers {
+
+    private LatencyMatchers() {
+    }
+
+    public static Matcher<EndpointSnapshot> p50Below(double millis) {
+        return percentileBelow(50, millis);
+    }
+
+    public static Matcher<EndpointSnapshot> p99Below(double millis) {
+        return percentileBelow(99, millis);
+    }
+
+    public static Matcher<EndpointSnapshot> percentileBelow(double percentile, double millis) {
+        return new TypeSafeDiagnosingMatcher<>() {
+            @Override
+            protected boolean matchesSafely(EndpointSnapshot snapshot, Description mismatch) {
+                if (snapshot.getCount() == 0) {
+                    mismatch.appendText("no requests to ").appendText(snapshot.getEndpoint()).appendText(" were recorded");
+                    return false;
+                }
+                double actual = snapshot.percentileMillis(percentile);
+                if (actual >= millis) {
+                    mismatch.appendText(String.format("%s p%s was %.2f ms over %d requests",
+                            snapshot.getEndpoint(), formatPercentile(percentile), actual, snapshot.getCount()));
+                    return false;
+                }
+                return true;
+            }
+
+            @Override
+            public void describeTo(Description description) {
+                description.appendText(String.format("p%s latency below %.2f ms", formatPercentile(percentile), millis));
+            }
+        };
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+}
@@ -0,0 +1,39 @@
+package metrics;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Writes the run-wide per-endpoint latencies collected by {@link LatencyFilter} to
+ * {@code latency.report} (target/latency-report.txt by default) once the test plan finishes.
+ * Registered through META-INF/services.
+ */
+public class LatencyReportListener implements TestExecutionListener {
+    private static final Path REPORT = Paths.get(System.getProperty("latency.report", "target/latency-report.txt"));
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        Map<String, EndpointSnapshot> endpoints = LatencyFilter.global().getRunHistograms().snapshot();
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        StringBuilder report = new StringBuilder();
+        endpoints.values().forEach(endpoint -> report.append(endpoint.format()).append(System.lineSeparator()));
+        try {
+            if (REPORT.getParent() != null) {
+                Files.createDirectories(REPORT.getParent());
+            }
+            Files.writeString(REPORT, report, StandardCharsets.UTF_8);
+            System.out.println("Latency report written to " + REPORT);
+        } catch (IOException e) {
+            System.err.println("Failed to write latency report: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package models;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiResponse {
+    @JsonProperty("code")
+    private Integer code;
+
+    @JsonProperty("type")
+    private String type;
+
+    @JsonProperty("message")
+    private String message;
+
+}
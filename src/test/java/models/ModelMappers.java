@@ -0,0 +1,93 @@
+package models;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single source of JSON writers and readers for the model classes. Every writer/reader is
+ * built from one configured {@link ObjectMapper} and warmed with a sample round trip when the
+ * class is initialized, so the first real request does not pay for bean introspection and
+ * all callers serialize a model type the same way.
+ */
+public final class ModelMappers {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .findAndRegisterModules();
+
+    private static final Map<Class<?>, ObjectWriter> WRITERS;
+    private static final Map<Class<?>, ObjectReader> READERS;
+
+    static {
+        Map<Class<?>, ObjectWriter> writers = new HashMap<>();
+        Map<Class<?>, ObjectReader> readers = new HashMap<>();
+        Category category = new Category(1L, "Dogs");
+        Tag tag = new Tag(1L, "friendly");
+        register(writers, readers, Category.class, category);
+        register(writers, readers, Tag.class, tag);
+        register(writers, readers, Pet.class,
+                new Pet(1L, category, "Buddy_00000", new String[]{"https://example.com/photo.jpg"}, new Tag[]{tag}, "available"));
+        register(writers, readers, Order.class, new Order(1L, 1L, 1, "2024-01-01T00:00:00", "placed", false));
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("warmup");
+        register(writers, readers, User.class, user);
+        register(writers, readers, Pet[].class, new Pet[0]);
+        register(writers, readers, ApiResponse.class, new ApiResponse(200, "unknown", "warmup"));
+        WRITERS = Map.copyOf(writers);
+        READERS = Map.copyOf(readers);
+    }
+
+    private ModelMappers() {
+    }
+
+    public static ObjectWriter writer(Class<?> type) {
+        ObjectWriter writer = WRITERS.get(type);
+        if (writer == null) {
+            throw new IllegalArgumentException("No writer registered for " + type.getName());
+        }
+        return writer;
+    }
+
+    public static ObjectReader reader(Class<?> type) {
+        ObjectReader reader = READERS.get(type);
+        if (reader == null) {
+            throw new IllegalArgumentException("No reader registered for " + type.getName());
+        }
+        return reader;
+    }
+
+    /**
+     * Reader for a JSON object whose values all have one type, such as the store inventory.
+     * Built on every call: callers keep the reader they need.
+     */
+    public static ObjectReader mapReader(Class<?> valueType) {
+        return MAPPER.readerFor(MAPPER.getTypeFactory().constructMapType(Map.class, String.class, valueType));
+    }
+
+    public static String toJson(Object model) throws JsonProcessingException {
+        return writer(model.getClass()).writeValueAsString(model);
+    }
+
+    private static <T> void register(Map<Class<?>, ObjectWriter> writers, Map<Class<?>, ObjectReader> readers,
+                                     Class<T> type, T sample) {
+        ObjectWriter writer = MAPPER.writerFor(type);
+        ObjectReader reader = MAPPER.readerFor(type);
+        try {
+            reader.readValue(writer.writeValueAsBytes(sample));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to warm up JSON mapping for " + type.getName(), e);
+        }
+        writers.put(type, writer);
+        readers.put(type, reader);
+    }
+}
@@ -15,10 +15,10 @@ import java.time.LocalDateTime;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Order {
     @Getter(onMethod_ = @JsonProperty("id"))
-    private Integer id;
+    private Long id;
 
     @Getter(onMethod_ = @JsonProperty("petId"))
-    private Integer petId;
+    private Long petId;
 
     @Getter(onMethod_ = @JsonProperty("quantity"))
     private Integer quantity;
@@ -10,7 +10,7 @@ import lombok.NoArgsConstructor;
 @Data
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Pet {
-    private Integer id;
+    private Long id;
     private Category category;
     private String name;
     private String[] photoUrls;
@@ -18,7 +18,7 @@ public class Pet {
     private String status;
 
     @JsonProperty("id")
-    public Integer getId() { return id; }
+    public Long getId() { return id; }
 
     @JsonProperty("category")
     public Category getCategory() { return category; }
@@ -0,0 +1,102 @@
+package scheduling;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+
+/**
+ * Smoothed durations of earlier runs, keyed by class name ({@code tests.PetTest}) and by test
+ * method ({@code tests.PetTest#getPet(java.lang.String)}). Stored as sorted "key TAB millis"
+ * lines in {@code test.durations} (.test-durations by default, outside target/ so it survives
+ * {@code mvn clean}). A new measurement is averaged with the stored one, so a single slow run
+ * does not reshuffle the schedule.
+ */
+public final class DurationHistory {
+    public static final Path DEFAULT_FILE = Paths.get(System.getProperty("test.durations", ".test-durations"));
+
+    private static final double SMOOTHING = 0.5;
+    private static DurationHistory loaded;
+
+    private final Map<String, Double> millis;
+
+    private DurationHistory(Map<String, Double> millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * The history of {@link #DEFAULT_FILE} as it was when first requested in this JVM.
+     */
+    public static synchronized DurationHistory loaded() {
+        if (loaded == null) {
+            loaded = read(DEFAULT_FILE);
+        }
+        return loaded;
+    }
+
+    public static DurationHistory read(Path file) {
+        Map<String, Double> millis = new TreeMap<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int tab = line.lastIndexOf('\t');
+                if (tab > 0) {
+                    millis.put(line.substring(0, tab), Double.parseDouble(line.substring(tab + 1)));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // First run: everything is unknown.
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Ignoring unreadable duration history " + file + ": " + e.getMessage());
+            millis.clear();
+        }
+        return new DurationHistory(millis);
+    }
+
+    public static String methodKey(String className, String methodName, String parameterTypes) {
+        return className + "#" + methodName + "(" + parameterTypes + ")";
+    }
+
+    public OptionalDouble get(String key) {
+        Double value = millis.get(key);
+        return value == null ? OptionalDouble.empty() : OptionalDouble.of(value);
+    }
+
+    /**
+     * Classes that have a recorded duration.
+     */
+    public List<String> classNames() {
+        List<String> names = new ArrayList<>();
+        for (String key : millis.keySet()) {
+            if (key.indexOf('#') < 0) {
+                names.add(key);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Folds this run's measurements into the history stored in {@code file}. The file is
+     * re-read first, so entries written meanwhile by another JVM are kept, and
+     * replaced atomically.
+     */
+    public static void merge(Path file, Map<String, Double> measuredMillis) throws IOException {
+        Map<String, Double> merged = new TreeMap<>(read(file).millis);
+        measuredMillis.forEach((key, measured) -> merged.merge(key, measured,
+                (previous, latest) -> previous * (1 - SMOOTHING) + latest * SMOOTHING));
+        List<String> lines = new ArrayList<>(merged.size());
+        merged.forEach((key, value) -> lines.add(key + "\t" + Math.round(value * 10) / 10.0));
+        Path absolute = file.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,67 @@
+package scheduling;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the wall-clock time of every test class and test method and merges it into the
+ * {@link DurationHistory} file when the test plan finishes. Parameterized and repeated
+ * methods are recorded once, for the container spanning all their invocations. Sharded runs
+ * leave the file alone: a shard that finished early would otherwise change the plan of shards
+ * started after it from the same checkout. Registered through META-INF/services.
+ */
+public class DurationHistoryListener implements TestExecutionListener {
+    private final Map<String, Long> startNanos = new ConcurrentHashMap<>();
+    private final Map<String, Double> measuredMillis = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (key(testIdentifier) != null) {
+            startNanos.put(testIdentifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Long start = startNanos.remove(testIdentifier.getUniqueId());
+        String key = key(testIdentifier);
+        if (start != null && key != null) {
+            double millis = (System.nanoTime() - start) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            measuredMillis.merge(key, millis, Math::max);
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (measuredMillis.isEmpty() || ShardFilter.isSharded()) {
+            return;
+        }
+        try {
+            DurationHistory.merge(DurationHistory.DEFAULT_FILE, measuredMillis);
+        } catch (IOException e) {
+            System.err.println("Failed to update duration history: " + e.getMessage());
+        }
+    }
+
+    private static String key(TestIdentifier testIdentifier) {
+        TestSource source = testIdentifier.getSource().orElse(null);
+        if (source instanceof ClassSource) {
+            return ((ClassSource) source).getClassName();
+        }
+        if (source instanceof MethodSource) {
+            MethodSource method = (MethodSource) source;
+            return DurationHistory.methodKey(method.getClassName(), method.getMethodName(), method.getMethodParameterTypes());
+        }
+        return null;
+    }
+}
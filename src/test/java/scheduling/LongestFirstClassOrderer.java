@@ -0,0 +1,26 @@
+package scheduling;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.Comparator;
+
+/**
+ * Starts the historically slowest test classes first, so in a parallel run the long ones
+ * overlap with everything else instead of trailing alone at the end. Classes without history
+ * are treated as the slowest, since nothing is known about them. Configured in
+ * junit-platform.properties.
+ */
+public class LongestFirstClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        DurationHistory history = DurationHistory.loaded();
+        context.getClassDescriptors().sort(Comparator
+                .comparingDouble((ClassDescriptor descriptor) ->
+                        history.get(descriptor.getTestClass().getName()).orElse(Double.MAX_VALUE))
+                .reversed()
+                .thenComparing(descriptor -> descriptor.getTestClass().getName()));
+    }
+}
@@ -0,0 +1,30 @@
+package scheduling;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+import java.util.Comparator;
+
+/**
+ * Method-level counterpart of {@link LongestFirstClassOrderer}: within a class the slowest
+ * tests are started first. Configured in junit-platform.properties.
+ */
+public class LongestFirstMethodOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        DurationHistory history = DurationHistory.loaded();
+        context.getMethodDescriptors().sort(Comparator
+                .comparingDouble((MethodDescriptor descriptor) ->
+                        history.get(key(context.getTestClass(), descriptor)).orElse(Double.MAX_VALUE))
+                .reversed()
+                .thenComparing(descriptor -> descriptor.getMethod().getName()));
+    }
+
+    private static String key(Class<?> testClass, MethodDescriptor descriptor) {
+        MethodSource source = MethodSource.from(testClass, descriptor.getMethod());
+        return DurationHistory.methodKey(source.getClassName(), source.getMethodName(), source.getMethodParameterTypes());
+    }
+}
@@ -0,0 +1,97 @@
+package scheduling;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * With {@code -Dtest.shard=k/n} keeps only the tests whose class {@link ShardPlan} assigns to
+ * shard k (one-based) of n, so n runs started together - parallel CI jobs or JVMs - each get
+ * an equal share of the expected runtime. Without the property everything is kept.
+ *
+ * <p>Surefire discovers every class on its own before running them together, so the plan is
+ * built from the classes in the duration history rather than from what a single discovery
+ * sees; classes without history are spread by name hash. All shards of a run must therefore
+ * start from the same history file. Registered through META-INF/services.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private static final String SHARD_PROPERTY = "test.shard";
+
+    private static Shard shard;
+
+    public static boolean isSharded() {
+        String spec = System.getProperty(SHARD_PROPERTY);
+        return spec != null && !spec.isBlank();
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!isSharded()) {
+            return FilterResult.included("not sharded");
+        }
+        String spec = System.getProperty(SHARD_PROPERTY);
+        Optional<String> className = topLevelClass(descriptor);
+        if (className.isEmpty()) {
+            return FilterResult.included("not in a test class");
+        }
+        return FilterResult.includedIf(shard(spec).contains(className.get()),
+                () -> "in shard " + spec, () -> "not in shard " + spec);
+    }
+
+    private static synchronized Shard shard(String spec) {
+        if (shard == null) {
+            shard = new Shard(spec);
+        }
+        return shard;
+    }
+
+    private static Optional<String> topLevelClass(TestDescriptor descriptor) {
+        String className = null;
+        for (TestDescriptor current = descriptor; current != null; current = current.getParent().orElse(null)) {
+            Optional<ClassSource> source = current.getSource().filter(ClassSource.class::isInstance).map(ClassSource.class::cast);
+            if (source.isPresent()) {
+                className = source.get().getClassName();
+            }
+        }
+        return Optional.ofNullable(className);
+    }
+
+    private static final class Shard {
+        private final int index;
+        private final int count;
+        private final Set<String> planned = new HashSet<>();
+        private final Set<String> selected = new HashSet<>();
+
+        Shard(String spec) {
+            int slash = spec.indexOf('/');
+            try {
+                index = Integer.parseInt(spec.substring(0, slash).trim()) - 1;
+                count = Integer.parseInt(spec.substring(slash + 1).trim());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(SHARD_PROPERTY + " must look like 2/4: " + spec, e);
+            }
+            if (index < 0 || index >= count) {
+                throw new IllegalArgumentException(SHARD_PROPERTY + " index out of range: " + spec);
+            }
+            DurationHistory history = DurationHistory.loaded();
+            ShardPlan plan = ShardPlan.of(history.classNames(), history, count);
+            for (int i = 0; i < count; i++) {
+                planned.addAll(plan.classes(i));
+            }
+            selected.addAll(plan.classes(index));
+            System.out.println(plan.format(index));
+        }
+
+        boolean contains(String className) {
+            if (planned.contains(className)) {
+                return selected.contains(className);
+            }
+            return Math.floorMod(className.hashCode(), count) == index;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package scheduling;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalDouble;
+
+/**
+ * Splits test classes into shards of near-equal expected duration: classes are taken
+ * longest-first and each goes to the currently lightest shard, which keeps the slowest shard
+ * within one class of sum/shards. Classes without history are estimated at the average of the
+ * known ones. The result depends only on the class names and the history, so every shard
+ * computes the same plan independently.
+ */
+public final class ShardPlan {
+    private final List<List<String>> classes;
+    private final double[] estimatedMillis;
+
+    private ShardPlan(int shards) {
+        classes = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            classes.add(new ArrayList<>());
+        }
+        estimatedMillis = new double[shards];
+    }
+
+    public static ShardPlan of(Collection<String> classNames, DurationHistory history, int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shards);
+        }
+        double average = classNames.stream()
+                .map(history::get)
+                .filter(OptionalDouble::isPresent)
+                .mapToDouble(OptionalDouble::getAsDouble)
+                .average()
+                .orElse(1);
+        List<String> longestFirst = new ArrayList<>(classNames);
+        longestFirst.sort(Comparator
+                .comparingDouble((String name) -> history.get(name).orElse(average))
+                .reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        ShardPlan plan = new ShardPlan(shards);
+        for (String name : longestFirst) {
+            int lightest = 0;
+            for (int i = 1; i < shards; i++) {
+                if (plan.estimatedMillis[i] < plan.estimatedMillis[lightest]) {
+                    lightest = i;
+                }
+            }
+            plan.classes.get(lightest).add(name);
+            plan.estimatedMillis[lightest] += history.get(name).orElse(average);
+        }
+        return plan;
+    }
+
+    public int shards() {
+        return classes.size();
+    }
+
+    /**
+     * Classes of a zero-based shard.
+     */
+    public List<String> classes(int shard) {
+        return classes.get(shard);
+    }
+
+    public double estimatedMillis(int shard) {
+        return estimatedMillis[shard];
+    }
+
+    public String format(int shard) {
+        double total = 0;
+        for (double millis : estimatedMillis) {
+            total += millis;
+        }
+        return String.format("Shard %d/%d: %d classes, estimated %.1f s of %.1f s total",
+                shard + 1, shards(), classes(shard).size(), estimatedMillis(shard) / 1000, total / 1000);
+    }
+}
@@ -0,0 +1,150 @@
+package tests;
+
+import emulator.ServiceTimeStub;
+import load.AdaptiveLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// The convergence test compares throughput and latency, which other classes on the same cores would skew.
+@Isolated
+public class AdaptiveLimiterTest {
+
+    private static final int WORKERS = 8;
+    private static final Duration SERVICE_TIME = Duration.ofMillis(20);
+    private static final int CLIENT_THREADS = 64;
+    private static final Duration RUN_TIME = Duration.ofSeconds(2);
+
+    @Test
+    @DisplayName("Лимит сходится к ёмкости бэкенда без роста задержки")
+    void limitConvergesToBackendCapacity() throws Exception {
+        AdaptiveLimiter unthrottled = new AdaptiveLimiter(CLIENT_THREADS, CLIENT_THREADS, CLIENT_THREADS);
+        AdaptiveLimiter adaptive = new AdaptiveLimiter(1, 1, CLIENT_THREADS);
+        Run baseline;
+        Run limited;
+        try (ServiceTimeStub stub = ServiceTimeStub.start(WORKERS, SERVICE_TIME)) {
+            // Runs first, so it also warms up both HTTP stacks for the adaptive run.
+            baseline = drive(stub, unthrottled);
+            try (AutoCloseable metrics = adaptive.printEvery(Duration.ofSeconds(1), "adaptive")) {
+                limited = drive(stub, adaptive);
+            }
+        }
+        System.out.printf("unthrottled: %s%nadaptive:    %s (%s)%n", baseline, limited, adaptive.format());
+
+        // The absolute capacity depends on the machine; what must hold is that the limit ends up
+        // near the worker count and buys most of the throughput for a fraction of the latency.
+        assertThat(adaptive.getLimit(), allOf(greaterThanOrEqualTo(WORKERS / 2), lessThanOrEqualTo(WORKERS * 4)));
+        assertThat(limited.perSecond, greaterThan(baseline.perSecond * 0.7));
+        assertThat(limited.medianRttMillis, lessThan(baseline.medianRttMillis / 2));
+    }
+
+    @Test
+    @DisplayName("Ошибки уменьшают лимит, простаивающий лимит не растёт")
+    void failuresCutLimitAndIdleLimitHolds() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 1, 100);
+        long rtt = TimeUnit.MILLISECONDS.toNanos(10);
+
+        assertThat(limiter.tryAcquire(), is(true));
+        limiter.release(rtt, true);
+        assertThat("one request in flight does not probe a limit of 20", limiter.getLimit(), equalTo(20));
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire(), is(true));
+        }
+        assertThat(limiter.tryAcquire(), is(false));
+        limiter.release(rtt, false);
+        assertThat(limiter.getLimit(), equalTo(18));
+        assertThat(limiter.getInFlight(), equalTo(19));
+    }
+
+    @Test
+    @DisplayName("Лимит не уменьшается при стабильной нагрузке ниже лимита")
+    void limitHoldsUnderSteadyUnderutilizingLoad() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(100, 1, 100);
+        long rtt = TimeUnit.MILLISECONDS.toNanos(10);
+
+        // Hours of five requests at a time, far more samples than any probe interval.
+        for (int round = 0; round < 100_000; round++) {
+            for (int i = 0; i < 5; i++) {
+                assertThat(limiter.tryAcquire(), is(true));
+            }
+            for (int i = 0; i < 5; i++) {
+                limiter.release(rtt, true);
+            }
+        }
+        assertThat(limiter.getLimit(), equalTo(100));
+    }
+
+    private static Run drive(ServiceTimeStub stub, AdaptiveLimiter limiter) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(stub.baseUri() + "/v2/pet/1")).GET().build();
+        List<Long> settledRttNanos = Collections.synchronizedList(new ArrayList<>());
+        long start = System.nanoTime();
+        long settleAt = start + RUN_TIME.toNanos() / 2;
+        long end = start + RUN_TIME.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        for (int i = 0; i < CLIENT_THREADS; i++) {
+            clients.execute(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        limiter.acquire();
+                        long sent = System.nanoTime();
+                        boolean success = false;
+                        try {
+                            success = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (IOException e) {
+                            success = false;
+                        } finally {
+                            long rtt = System.nanoTime() - sent;
+                            limiter.release(rtt, success);
+                            if (sent > settleAt) {
+                                settledRttNanos.add(rtt);
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(RUN_TIME.toMillis() * 2, TimeUnit.MILLISECONDS);
+        return new Run(settledRttNanos, end - settleAt);
+    }
+
+    /**
+     * What the clients saw over the second half of a run, once the limit has settled.
+     */
+    private static final class Run {
+        final double perSecond;
+        final double medianRttMillis;
+
+        Run(List<Long> rttNanos, long windowNanos) {
+            List<Long> sorted = new ArrayList<>(rttNanos);
+            Collections.sort(sorted);
+            this.perSecond = sorted.size() * 1e9 / windowNanos;
+            this.medianRttMillis = sorted.isEmpty() ? Double.NaN : sorted.get(sorted.size() / 2) / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f req/s, median RTT %.1f ms", perSecond, medianRttMillis);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package tests;
+
+import cassette.Cassette;
+import cassette.CassetteWriter;
+import cassette.RecordFilter;
+import cassette.ReplayFilter;
+import generators.GenerationContext;
+import generators.StoreGenerator;
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CassetteTest extends TestBase {
+
+    private static final String UNREACHABLE_BASE_URI = "http://127.0.0.1:1/v2";
+    // What the cassette profile sets for mvn runs.
+    private static final List<String> CASSETTE_RUN_PROPERTIES = List.of(
+            "-Djunit.jupiter.execution.parallel.enabled=false",
+            "-Djunit.jupiter.testclass.order.default=org.junit.jupiter.api.ClassOrderer$ClassName",
+            "-Djunit.jupiter.testmethod.order.default=org.junit.jupiter.api.MethodOrderer$MethodName",
+            "-Dsun.net.httpserver.nodelay=true");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Запись и воспроизведение сценария заказа из кассеты без сети")
+    void replayServesRecordedResponsesWithoutBackend() throws IOException {
+        assumeTrue(System.getProperty("petstore.cassette.mode") == null, "global cassette mode active");
+        Path file = tempDir.resolve("store.cassette");
+        int orderId = StoreGenerator.generateUniqueId();
+        String order = "{\"id\":" + orderId + ",\"petId\":1,\"quantity\":2,\"shipDate\":\"2024-01-01T00:00:00\",\"status\":\"placed\",\"complete\":false}";
+
+        List<Response> recorded;
+        try (CassetteWriter writer = new CassetteWriter(file, GenerationContext.global().getSeed())) {
+            recorded = orderFlow(new RecordFilter(writer), null, order, orderId);
+        }
+
+        // Same order with reordered fields and whitespace must hit the same recording.
+        String reformatted = "{ \"status\": \"placed\", \"complete\": false, \"quantity\": 2, \"petId\": 1,\n"
+                + "  \"shipDate\": \"2024-01-01T00:00:00\", \"id\": " + orderId + " }";
+        try (Cassette cassette = Cassette.open(file)) {
+            assertThat(cassette.size(), equalTo(recorded.size()));
+            ReplayFilter replay = new ReplayFilter(cassette);
+            List<Response> replayed = orderFlow(replay, UNREACHABLE_BASE_URI, reformatted, orderId);
+
+            for (int i = 0; i < recorded.size(); i++) {
+                assertThat(replayed.get(i).getStatusCode(), equalTo(recorded.get(i).getStatusCode()));
+                assertThat(replayed.get(i).asString(), equalTo(recorded.get(i).asString()));
+            }
+            assertThat(replayed.get(2).jsonPath().getInt("id"), equalTo(orderId));
+            assertThat(replayed.get(4).getStatusCode(), equalTo(404));
+
+            assertThrows(IllegalStateException.class, () -> given()
+                    .baseUri(UNREACHABLE_BASE_URI)
+                    .filter(replay)
+                    .get("/store/inventory"));
+        }
+    }
+
+    @Test
+    @DisplayName("Тестовый класс, записанный на эмуляторе, проходит при воспроизведении без сети")
+    void recordedTestClassPassesInReplay() throws IOException, InterruptedException {
+        assumeTrue(System.getProperty("petstore.cassette.mode") == null, "global cassette mode active");
+        String cassette = "-Dpetstore.cassette=" + tempDir.resolve("user.cassette");
+
+        // The recording picks a random seed; the replay must take it from the cassette.
+        String recorded = runInFork(UserTest.class, "-Dpetstore.emulator=true", "-Dpetstore.cassette.mode=record", cassette);
+        String replayed = runInFork(UserTest.class, "-Dpetstore.cassette.mode=replay", cassette);
+
+        assertThat(replayed, containsString("Replaying "));
+        assertThat(summary(replayed), equalTo(summary(recorded)));
+    }
+
+    private String runInFork(Class<?> testClass, String... properties) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        // Short-lived JVMs: C2 compilation would cost more than it saves.
+        command.add("-XX:TieredStopAtLevel=1");
+        command.add("-XX:+UseSerialGC");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.addAll(CASSETTE_RUN_PROPERTIES);
+        command.addAll(List.of(properties));
+        command.add(ForkedRun.class.getName());
+        command.add(testClass.getName());
+        // Run from the temp dir so the fork's duration history and reports stay out of the project.
+        Process process = new ProcessBuilder(command).directory(tempDir.toFile()).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(output, process.waitFor(), equalTo(0));
+        return output;
+    }
+
+    private static String summary(String output) {
+        return output.lines().filter(line -> line.endsWith(" tests passed")).findFirst().orElse("");
+    }
+
+    private static List<Response> orderFlow(Filter filter, String baseUri, String order, int orderId) {
+        List<Response> responses = new ArrayList<>();
+        responses.add(spec(filter, baseUri).queryParam("status", "sold").get("/pet/findByStatus"));
+        responses.add(spec(filter, baseUri).contentType("application/json").body(order).post("/store/order"));
+        responses.add(spec(filter, baseUri).pathParam("orderId", orderId).get("/store/order/{orderId}"));
+        responses.add(spec(filter, baseUri).pathParam("orderId", orderId).delete("/store/order/{orderId}"));
+        responses.add(spec(filter, baseUri).pathParam("orderId", orderId).get("/store/order/{orderId}"));
+        return responses;
+    }
+
+    private static RequestSpecification spec(Filter filter, String baseUri) {
+        RequestSpecification spec = given().filter(filter);
+        return baseUri == null ? spec : spec.baseUri(baseUri);
+    }
+
+    /**
+     * Entry point of the forked JVMs: runs one test class through the JUnit launcher and exits
+     * non-zero unless every test in it passed.
+     */
+    public static final class ForkedRun {
+        public static void main(String[] args) {
+            SummaryGeneratingListener listener = new SummaryGeneratingListener();
+            LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request()
+                    .selectors(DiscoverySelectors.selectClass(args[0]))
+                    .build(), listener);
+            TestExecutionSummary summary = listener.getSummary();
+            summary.printFailuresTo(new PrintWriter(System.out, true), 20);
+            System.out.println(summary.getTestsSucceededCount() + " of " + summary.getTestsFoundCount() + " tests passed");
+            System.exit(summary.getTotalFailureCount() == 0 && summary.getTestsSucceededCount() > 0 ? 0 : 1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package tests;
+
+import client.ConnectionPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Isolated
+public class ConnectionPoolTest extends TestBase {
+
+    private static final int REQUESTS = 200;
+
+    @Test
+    @DisplayName("GET /store/inventory - Последовательные запросы переиспользуют соединения")
+    void sequentialRequestsReuseConnections() {
+        ConnectionPool pool = connectionPool();
+        assumeTrue(pool != null, "connection pool disabled");
+        long openedBefore = pool.getOpened();
+        long reusedBefore = pool.getReused();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            given()
+                    .when()
+                    .get("/store/inventory")
+                    .then()
+                    .statusCode(200);
+        }
+
+        System.out.println(pool.format());
+        assertThat(pool.getOpened() - openedBefore, lessThanOrEqualTo(2L));
+        assertThat(pool.getReused() - reusedBefore, greaterThanOrEqualTo((long) REQUESTS - 2));
+        assertThat(pool.getLeasedNow(), equalTo(0));
+    }
+}
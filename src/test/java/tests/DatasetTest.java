@@ -0,0 +1,76 @@
+package tests;
+
+import dataset.Dataset;
+import dataset.DatasetBuilder;
+import dataset.DatasetType;
+import models.ModelMappers;
+import models.Pet;
+import models.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class DatasetTest {
+
+    private static final int PETS = 200_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Параллельная генерация набора питомцев в файл с индексом и чтение записей")
+    void builtPetDatasetIsReadableSequentiallyAndByIndex() throws IOException, InterruptedException {
+        Path file = DatasetBuilder.build(tempDir.resolve("pets.dat"), DatasetType.PETS, PETS, 4);
+
+        try (Dataset dataset = Dataset.open(file)) {
+            assertThat(dataset.getType(), equalTo(DatasetType.PETS));
+            assertThat(dataset.size(), equalTo((long) PETS));
+
+            Set<Long> ids = new HashSet<>();
+            dataset.forEach(record -> ids.add(parse(record, Pet.class).getId()));
+            assertThat(ids, hasSize(PETS));
+            // Ids follow the record number, so a corpus is not limited to one fork's IdAllocator partition.
+            for (int i = 0; i < PETS; i += PETS / 100) {
+                assertThat(parse(dataset.record(i), Pet.class).getId(), equalTo(DatasetBuilder.FIRST_ID + i));
+            }
+
+            Pet last = parse(dataset.record(PETS - 1), Pet.class);
+            assertThat(last.getName(), matchesPattern("^[A-Za-z]+_[a-f0-9]{5}$"));
+            assertThat(last.getStatus(), oneOf("available", "pending", "sold"));
+        }
+    }
+
+    @Test
+    @DisplayName("Набор пользователей с размером меньше одного блока")
+    void smallUserDatasetRoundTrips() throws IOException, InterruptedException {
+        Path file = DatasetBuilder.build(tempDir.resolve("users.dat"), DatasetType.USERS, 3, 2);
+
+        try (Dataset dataset = Dataset.open(file)) {
+            assertThat(dataset.size(), equalTo(3L));
+            for (int i = 0; i < 3; i++) {
+                User user = parse(dataset.record(i), User.class);
+                assertThat(user.getId(), equalTo(DatasetBuilder.FIRST_ID + i));
+                assertThat(user.getUsername(), allOf(startsWith("user_"), endsWith("_" + user.getId())));
+            }
+        }
+    }
+
+    private static <T> T parse(ByteBuffer record, Class<T> type) {
+        byte[] json = new byte[record.remaining()];
+        record.get(json);
+        try {
+            return ModelMappers.reader(type).readValue(json);
+        } catch (IOException e) {
+            throw new AssertionError("Unparseable record: " + new String(json), e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package tests;
+
+import fixtures.TestPet;
+import generators.PetGenerator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class FlightRecorderEventsTest extends TestBase {
+
+    private Recording recording;
+
+    // Runs before the fixture parameter is resolved, so its creation is recorded too.
+    @BeforeEach
+    void startRecording() {
+        recording = new Recording();
+        recording.enable("petstore.HttpExchange");
+        recording.enable("petstore.Fixture");
+        recording.enable("petstore.PayloadGeneration");
+        recording.start();
+    }
+
+    @AfterEach
+    void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    @DisplayName("JFR - События HTTP-запросов, создания фикстуры и генерации данных")
+    void requestsFixturesAndPayloadsAreRecorded(@TestPet String petId) throws IOException {
+        given()
+                .pathParam("petId", petId)
+                .when()
+                .get("/pet/{petId}")
+                .then()
+                .statusCode(200);
+        byte[] payload = PetGenerator.generateRandomPetBytes();
+
+        List<RecordedEvent> events = stopAndRead();
+
+        RecordedEvent fixture = single(events, "petstore.Fixture");
+        assertThat(fixture.getString("action"), equalTo("create"));
+        assertThat(fixture.getString("fixtureType"), equalTo("PET"));
+        assertThat(fixture.getString("fixtureId"), equalTo(petId));
+        assertThat(fixture.getBoolean("success"), is(true));
+
+        List<RecordedEvent> exchanges = named(events, "petstore.HttpExchange");
+        RecordedEvent create = exchanges.stream().filter(e -> "POST".equals(e.getString("method"))).findFirst().orElseThrow();
+        assertThat(create.getString("pathTemplate"), equalTo("/pet"));
+        assertThat(create.getLong("requestBytes"), greaterThan(0L));
+        assertThat("the POST is part of the fixture creation",
+                create.getStartTime(), both(greaterThanOrEqualTo(fixture.getStartTime())).and(lessThanOrEqualTo(fixture.getEndTime())));
+        RecordedEvent get = exchanges.stream().filter(e -> "GET".equals(e.getString("method"))).findFirst().orElseThrow();
+        assertThat(get.getString("pathTemplate"), equalTo("/pet/{petId}"));
+        assertThat(get.getInt("status"), equalTo(200));
+        assertThat(get.getLong("requestBytes"), equalTo(0L));
+        assertThat(get.getDuration().isNegative(), is(false));
+
+        List<RecordedEvent> payloads = named(events, "petstore.PayloadGeneration");
+        assertThat(payloads, hasSize(2));
+        RecordedEvent generated = payloads.get(1);
+        assertThat(generated.getString("entity"), equalTo("pet"));
+        assertThat(generated.getInt("count"), equalTo(1));
+        assertThat(generated.getLong("bytes"), equalTo((long) payload.length));
+    }
+
+    /**
+     * The events of the recording emitted on this thread; tests running in parallel record
+     * into it as well.
+     */
+    private List<RecordedEvent> stopAndRead() throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("petstore", ".jfr");
+        try {
+            recording.dump(file);
+            long thread = Thread.currentThread().threadId();
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getThread() != null && e.getThread().getJavaThreadId() == thread)
+                    .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = named(events, name);
+        assertThat(name, matching, hasSize(1));
+        return matching.get(0);
+    }
+}
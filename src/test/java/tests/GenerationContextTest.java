@@ -0,0 +1,97 @@
+package tests;
+
+import generators.GenerationContext;
+import generators.JsonBuffer;
+import generators.PetGenerator;
+import generators.StoreGenerator;
+import generators.UserGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class GenerationContextTest {
+
+    private static final int PARTITIONS = 16;
+    private static final int PAYLOADS = 50;
+
+    @Test
+    @DisplayName("Одинаковые seed и разбиение дают одинаковые данные при любом числе потоков")
+    void sameSeedAndPartitionsReproducePayloads() throws Exception {
+        GenerationContext context = new GenerationContext(42);
+
+        List<String> sequential = new ArrayList<>();
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            sequential.add(generate(context, partition));
+        }
+        List<String> parallel = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> partitions = new ArrayList<>();
+            for (int partition = PARTITIONS - 1; partition >= 0; partition--) {
+                long p = partition;
+                partitions.add(0, executor.submit(() -> generate(context, p)));
+            }
+            for (Future<String> partition : partitions) {
+                parallel.add(partition.get());
+            }
+        }
+
+        assertThat(parallel, equalTo(sequential));
+        assertThat(generate(new GenerationContext(42), 3), equalTo(sequential.get(3)));
+        assertThat(sequential.get(4), not(equalTo(sequential.get(3))));
+        assertThat(generate(new GenerationContext(43), 3), not(equalTo(sequential.get(3))));
+    }
+
+    @Test
+    @DisplayName("Вложенные разделы восстанавливают предыдущий поток")
+    void nestedPartitionsRestoreOuterStream() {
+        GenerationContext context = new GenerationContext(7);
+        SplittableRandom reference = context.stream(1);
+        reference.nextLong();
+        long expected = reference.nextLong();
+
+        long actual;
+        try (GenerationContext.Scope outer = context.partition(1)) {
+            GenerationContext.random().nextLong();
+            try (GenerationContext.Scope inner = context.partition(2)) {
+                GenerationContext.random().nextLong();
+            }
+            actual = GenerationContext.random().nextLong();
+        }
+        assertThat(actual, equalTo(expected));
+    }
+
+    /**
+     * Pets, users and orders of one partition, with what the partition stream does not decide
+     * (ids, usernames built from ids, ship dates) masked.
+     */
+    private static String generate(GenerationContext context, long partition) throws Exception {
+        StringBuilder payloads = new StringBuilder();
+        try (GenerationContext.Scope ignored = context.partition(partition)) {
+            for (int i = 0; i < PAYLOADS; i++) {
+                payloads.append(PetGenerator.generateRandomPet()).append('\n')
+                        .append(json(PetGenerator.writeRandomPet(new JsonBuffer()))).append('\n')
+                        .append(UserGenerator.generateRandomUser()).append('\n')
+                        .append(json(UserGenerator.writeRandomUser(new JsonBuffer()))).append('\n')
+                        .append(StoreGenerator.generateRandomOrder()).append('\n');
+            }
+        }
+        return payloads.toString()
+                .replaceAll("\"id\":\\d+,\"(username|category|petId)", "\"id\":#,\"$1")
+                .replaceAll("user_\\w+_\\d+", "user_#")
+                .replaceAll("\"shipDate\":\"[^\"]*\"", "\"shipDate\":#");
+    }
+
+    private static String json(JsonBuffer buffer) {
+        return new String(buffer.array(), 0, buffer.length(), StandardCharsets.UTF_8);
+    }
+}
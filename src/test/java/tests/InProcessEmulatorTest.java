@@ -0,0 +1,120 @@
+package tests;
+
+import emulator.EmulatorRequest;
+import emulator.EmulatorResponse;
+import emulator.InProcessFilter;
+import emulator.PetstoreBackend;
+import generators.PetGenerator;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class InProcessEmulatorTest {
+
+    private static final String UNREACHABLE_BASE_URI = "http://127.0.0.1:1/v2";
+    private static final int SCALE_PETS = Integer.getInteger("emulator.scalePets", 1_000_000);
+    private static final int RARE_PETS = 25;
+
+    @Test
+    @DisplayName("Сценарий питомца через RestAssured без сокетов")
+    void petLifecycleIsServedWithoutSockets() throws Exception {
+        InProcessFilter filter = new InProcessFilter(new PetstoreBackend());
+        String pet = PetGenerator.generateRandomPet();
+
+        Response created = spec(filter).contentType("application/json").body(pet).post("/pet");
+        assertThat(created.getStatusCode(), equalTo(200));
+        long petId = created.jsonPath().getLong("id");
+
+        Response fetched = spec(filter).pathParam("petId", petId).get("/pet/{petId}");
+        assertThat(fetched.getStatusCode(), equalTo(200));
+        assertThat(fetched.jsonPath().getLong("id"), equalTo(petId));
+
+        spec(filter).pathParam("petId", petId)
+                .formParam("name", "Renamed").formParam("status", "quarantine")
+                .post("/pet/{petId}")
+                .then().statusCode(200);
+        JsonPath quarantined = spec(filter).queryParam("status", "quarantine").get("/pet/findByStatus").jsonPath();
+        assertThat(quarantined.getList("id", Long.class), contains(petId));
+        assertThat(quarantined.getString("[0].name"), equalTo("Renamed"));
+        spec(filter).get("/store/inventory")
+                .then().statusCode(200).body("quarantine", equalTo(1));
+
+        spec(filter).pathParam("petId", petId)
+                .multiPart("additionalMetadata", "in process")
+                .multiPart("file", "photo.png", new byte[1234])
+                .post("/pet/{petId}/uploadImage")
+                .then().statusCode(200).body("message", containsString("photo.png, 1234 bytes"));
+
+        spec(filter).pathParam("petId", petId).delete("/pet/{petId}").then().statusCode(200);
+        spec(filter).pathParam("petId", petId).get("/pet/{petId}").then().statusCode(404);
+        spec(filter).get("/store/inventory").then().body("$", not(hasKey("quarantine")));
+    }
+
+    @Test
+    @DisplayName("findByStatus и inventory не зависят от общего числа питомцев")
+    void statusQueriesStayFastWithMillionsOfPets() {
+        PetstoreBackend backend = new PetstoreBackend();
+        long seeded = backend.petCount();
+        for (int i = 1; i <= SCALE_PETS; i++) {
+            String status = i % (SCALE_PETS / RARE_PETS) == 0 ? "rare" : (i % 2 == 0 ? "available" : "sold");
+            handle(backend, "POST", "/v2/pet", "{\"id\":" + i + ",\"name\":\"p" + i + "\",\"photoUrls\":[],\"status\":\"" + status + "\"}");
+        }
+        assertThat(backend.petCount(), equalTo(seeded + SCALE_PETS));
+
+        long[] findNanos = new long[1_000];
+        for (int i = 0; i < findNanos.length; i++) {
+            long start = System.nanoTime();
+            EmulatorResponse response = handle(backend, "GET", "/v2/pet/findByStatus?status=rare,pending", null);
+            findNanos[i] = System.nanoTime() - start;
+            assertThat(response.getStatus(), equalTo(200));
+        }
+        long[] inventoryNanos = new long[1_000];
+        EmulatorResponse inventory = null;
+        for (int i = 0; i < inventoryNanos.length; i++) {
+            long start = System.nanoTime();
+            inventory = handle(backend, "GET", "/v2/store/inventory", null);
+            inventoryNanos[i] = System.nanoTime() - start;
+        }
+
+        JsonPath found = JsonPath.from(new String(handle(backend, "GET", "/v2/pet/findByStatus?status=rare,pending", null)
+                .getBody(), StandardCharsets.UTF_8));
+        assertThat(found.getList("$"), hasSize(RARE_PETS + 1));
+        Map<String, Integer> counts = JsonPath.from(new String(inventory.getBody(), StandardCharsets.UTF_8)).getMap("$");
+        assertThat(counts.get("rare"), equalTo(RARE_PETS));
+        assertThat(counts.get("available") + counts.get("sold") + counts.get("rare") + counts.get("pending"),
+                equalTo((int) (seeded + SCALE_PETS)));
+
+        long findMedian = median(findNanos);
+        long inventoryMedian = median(inventoryNanos);
+        System.out.printf("%d pets: findByStatus median %.1f us, inventory median %.1f us%n",
+                backend.petCount(), findMedian / 1e3, inventoryMedian / 1e3);
+        assertThat(findMedian, lessThan(1_000_000L));
+        assertThat(inventoryMedian, lessThan(1_000_000L));
+    }
+
+    private static RequestSpecification spec(InProcessFilter filter) {
+        // Without the global filters a suite-wide in-process backend cannot answer instead of this one.
+        return given().noFilters().baseUri(UNREACHABLE_BASE_URI).filter(filter);
+    }
+
+    private static EmulatorResponse handle(PetstoreBackend backend, String method, String target, String body) {
+        byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        return backend.handle(new EmulatorRequest(method, target, Map.of("content-type", "application/json"), bytes, true));
+    }
+
+    private static long median(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,43 @@
+package tests;
+
+import dataset.Dataset;
+import fixtures.TestUser;
+import load.LoadReport;
+import load.OpenModelLoadDriver;
+import load.PetstoreScenarios;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Tag("load")
+public class LoadTest extends TestBase {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "200"));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.durationSeconds", 10));
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.maxInFlight", 1000);
+    private static final String PET_DATASET = System.getProperty("load.petDataset");
+
+    @Test
+    @DisplayName("Open-model load - смесь запросов Pet, Store и User с фиксированной частотой")
+    void mixedEndpointsAtFixedArrivalRate(@TestUser String username) throws InterruptedException, IOException {
+        LoadReport report;
+        if (PET_DATASET == null) {
+            report = new OpenModelLoadDriver(PetstoreScenarios.all(username), RATE, DURATION, MAX_IN_FLIGHT).run();
+        } else {
+            try (Dataset pets = Dataset.open(Paths.get(PET_DATASET))) {
+                report = new OpenModelLoadDriver(PetstoreScenarios.all(pets, username), RATE, DURATION, MAX_IN_FLIGHT).run();
+            }
+        }
+        System.out.print(report.format());
+
+        assertThat(report.getCompleted(), greaterThan(0L));
+        assertThat(report.getErrors(), equalTo(0L));
+    }
+}
@@ -0,0 +1,42 @@
+package tests;
+
+import load.LoadReport;
+import load.LoadScenario;
+import load.OpenModelLoadDriver;
+import metrics.EndpointSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class OpenModelLoadDriverTest {
+
+    private static final long SERVICE_MILLIS = 20;
+    private static final double RATE = 200;
+    private static final Duration RUN_TIME = Duration.ofSeconds(1);
+
+    @Test
+    @DisplayName("Отброшенные запросы считаются ошибками и не занижают p99")
+    void droppedArrivalsDoNotLowerLatency() throws InterruptedException {
+        List<LoadScenario> scenarios = List.of(new LoadScenario("GET /slow", () -> {
+            Thread.sleep(SERVICE_MILLIS);
+            return 200;
+        }));
+        // One request at a time against a 20 ms service sheds about three arrivals in four.
+        LoadReport shedding = new OpenModelLoadDriver(scenarios, RATE, RUN_TIME, 1).run();
+        System.out.print(shedding.format());
+
+        assertThat(shedding.getDropped(), greaterThan(shedding.getCompleted()));
+        assertThat(shedding.getErrors(), equalTo(shedding.getDropped()));
+        // Every request that was sent took the service time; a recorded drop would be far below it.
+        EndpointSnapshot endpoint = shedding.getEndpoints().get("GET /slow");
+        assertThat(endpoint.getCount(), equalTo(shedding.getCompleted()));
+        assertThat(endpoint.getHistogram().getMinValue(), greaterThanOrEqualTo(SERVICE_MILLIS * 1000));
+        assertThat(endpoint.percentileMillis(50), greaterThanOrEqualTo((double) SERVICE_MILLIS));
+        assertThat(endpoint.percentileMillis(99), greaterThanOrEqualTo((double) SERVICE_MILLIS));
+    }
+}
@@ -0,0 +1,79 @@
+package tests;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import generators.PetBatch;
+import generators.PetGenerator;
+import models.ModelMappers;
+import models.Pet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// Retained heap is measured around whole-heap collections; other classes allocating meanwhile would skew it.
+@Isolated
+public class PetBatchTest {
+
+    private static final int PETS = 100_000;
+
+    @Test
+    @DisplayName("PetBatch - JSON совпадает с сериализацией модели Pet")
+    void columnarJsonMatchesModelJson() throws IOException {
+        PetBatch batch = PetGenerator.generateBatch(1_000);
+        ObjectWriter writer = ModelMappers.writer(Pet.class);
+        ObjectReader reader = ModelMappers.reader(Pet.class);
+
+        for (int i = 0; i < batch.size(); i++) {
+            String json = new String(batch.toJson(i), StandardCharsets.UTF_8);
+            assertThat(json, equalTo(writer.writeValueAsString(batch.pet(i))));
+            Pet parsed = reader.readValue(json);
+            assertThat(parsed.getId(), equalTo(batch.id(i)));
+            assertThat(parsed.getName(), matchesPattern("^[A-Za-z]+_[a-f0-9]{5}$"));
+            assertThat(parsed.getPhotoUrls()[0], matchesPattern("^https://example\\.com/photo_[0-9a-f-]{36}\\.jpg$"));
+        }
+    }
+
+    @Test
+    @DisplayName("PetBatch - Занимает в куче минимум в 5 раз меньше, чем объекты Pet")
+    void columnarBatchIsAtLeastFiveTimesSmallerOnHeap() throws IOException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ObjectReader reader = ModelMappers.reader(Pet.class);
+        // Load the generator's and the reader's classes and shared tables before measuring.
+        reader.readValue(PetGenerator.generateBatch(1).toJson(0));
+
+        long beforeBatch = retainedHeap(memory);
+        PetBatch batch = PetGenerator.generateBatch(PETS);
+        long batchBytes = retainedHeap(memory) - beforeBatch;
+
+        // The same pets as the JSON reader builds them, each with its own boxed ids and Strings.
+        long beforePets = retainedHeap(memory);
+        Pet[] pets = new Pet[PETS];
+        for (int i = 0; i < PETS; i++) {
+            pets[i] = reader.readValue(batch.toJson(i));
+        }
+        long modelBytes = retainedHeap(memory) - beforePets;
+        Reference.reachabilityFence(pets);
+        Reference.reachabilityFence(batch);
+
+        double batchPerPet = (double) batchBytes / PETS;
+        double modelPerPet = (double) modelBytes / PETS;
+        System.out.printf("Retained heap per pet: Pet objects %.0f B, PetBatch %.0f B (%.1fx smaller)%n",
+                modelPerPet, batchPerPet, modelPerPet / batchPerPet);
+        assertThat(batchBytes, greaterThan(0L));
+        assertThat(modelPerPet / batchPerPet, greaterThanOrEqualTo(5.0));
+    }
+
+    private static long retainedHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
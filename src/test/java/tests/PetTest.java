@@ -1,68 +1,48 @@
 package tests;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import fixtures.TestPet;
+import generators.ImageGenerator;
 import generators.PetGenerator;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
-import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
+import metrics.EndpointHistograms;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static assertions.JsonArrayAssertions.jsonArray;
 import static io.restassured.RestAssured.given;
+import static metrics.LatencyMatchers.p99Below;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 public class PetTest extends TestBase {
 
     private final File validImage = new File("src/test/resources/test_image.png");
 
-    private String testPetId;
-
-    @BeforeEach
-    void createTestPet() throws JsonProcessingException {
-        String testPet = PetGenerator.generateRandomPet();
-        Response response = given()
-                .contentType("application/json")
-                .body(testPet)
-                .post("/pet");
-
-
-        testPetId = response.jsonPath().getString("id");
-
-        response.then()
-                .statusCode(200);
-
-        System.out.println("Created Pet ID: " + testPetId);
-    }
-
-    @AfterEach
-    void cleanup() {
-        if (testPetId != null) {
-            System.out.println("Cleaning up pet ID: " + testPetId);
-            given()
-                    .header("api_key", 12)
-                    .pathParam("petId", testPetId)
-                    .when()
-                    .delete("/pet/{petId}")
-                    .then()
-                    .statusCode(anyOf(is(200), is(404)));
-            testPetId = null;
-        }
+    @TempDir
+    Path tempDir;
 
+    @AfterAll
+    static void latencyWithinSla(EndpointHistograms latencies) {
+        latencies.snapshot().values().forEach(endpoint -> assertThat(endpoint, p99Below(SLA_P99_MILLIS)));
     }
 
-
     @Test
     @DisplayName("POST /pet/{petId}/uploadImage - Успешная загрузка изображения")
-    void uploadImageWithMetadataShouldReturnSuccess() {
+    void uploadImageWithMetadataShouldReturnSuccess(@TestPet String testPetId) {
         given()
                 .pathParam("petId", testPetId)
                 .contentType(ContentType.MULTIPART)
@@ -77,9 +57,26 @@ public class PetTest extends TestBase {
                 .body("message", containsString("File uploaded"));
     }
 
+    @Test
+    @DisplayName("POST /pet/{petId}/uploadImage - Загрузка сгенерированного изображения")
+    void uploadGeneratedImageShouldReportItsSize(@TestPet String testPetId) throws IOException {
+        // Fixed name and content, so the request is the same on every run and can be replayed.
+        Path image = ImageGenerator.writePng(tempDir.resolve("generated.png"), 64 * 1024);
+
+        given()
+                .pathParam("petId", testPetId)
+                .multiPart("additionalMetadata", "generated image")
+                .multiPart("file", image.toFile())
+                .when()
+                .post("/pet/{petId}/uploadImage")
+                .then()
+                .statusCode(200)
+                .body("message", containsString("generated.png, " + Files.size(image) + " bytes"));
+    }
+
     @Test
     @DisplayName("POST /pet/{petId}/uploadImage - Загрузка без метаданных")
-    void uploadImageWithoutMetadataShouldSucceed() {
+    void uploadImageWithoutMetadataShouldSucceed(@TestPet String testPetId) {
         given()
                 .pathParam("petId", testPetId)
                 .contentType(ContentType.MULTIPART)
@@ -93,15 +90,20 @@ public class PetTest extends TestBase {
 
     @Test
     @DisplayName("GET /pet/findByStatus - Получение питомцев со статусом available")
-    void whenStatusIsAvailable_shouldReturnAvailablePets() {
-        given()
+    void whenStatusIsAvailable_shouldReturnAvailablePets() throws IOException {
+        Response response = given()
+                .config(streamingResponseConfig())
                 .queryParam("status", "available")
                 .when()
-                .get("/pet/findByStatus")
-                .then()
+                .get("/pet/findByStatus");
+
+        response.then()
                 .statusCode(200)
-                .contentType(ContentType.JSON)
-                .body("status", everyItem(is("available")));
+                .contentType(ContentType.JSON);
+        jsonArray()
+                .everyItem("status", is("available"))
+                .hasKey("id")
+                .verify(response);
     }
 
     @Test
@@ -161,9 +163,26 @@ public class PetTest extends TestBase {
     }
 
 
+    @Test
+    @DisplayName("POST /pet - Создание питомца из прямой байтовой сериализации")
+    void createRandomPetFromBytesTest() {
+        given()
+                .contentType("application/json")
+                .body(PetGenerator.generateRandomPetBytes())
+                .when()
+                .post("/pet")
+                .then()
+                .statusCode(200)
+                .body("id", notNullValue())
+                .body("name", matchesPattern("^[A-Za-z]+_[a-f0-9]{5}$"))
+                .body("status", anyOf(is("available"), is("pending"), is("sold")))
+                .body("photoUrls", not(emptyArray()))
+                .body("tags", everyItem(hasKey("name")));
+    }
+
     @Test
     @DisplayName("GET /pet/{petId} - Успешное получение питомца")
-    void getPetByIdShouldReturnValidPet() {
+    void getPetByIdShouldReturnValidPet(@TestPet String testPetId) {
         given()
                 .pathParam("petId", testPetId)
                 .when()
@@ -189,7 +208,7 @@ public class PetTest extends TestBase {
 
     @Test
     @DisplayName("PUT /pet - Успешное обновление питомца")
-    void updatePetWithValidDataShouldSucceed() throws JsonProcessingException {
+    void updatePetWithValidDataShouldSucceed(@TestPet String testPetId) {
         Map<String, Object> category = Map.of(
                 "id", 1,
                 "name", "mammal"
@@ -219,7 +238,7 @@ public class PetTest extends TestBase {
 
     @Test
     @DisplayName("DELETE /pet/{petId} - Успешное удаление питомца")
-    void deletePetWithValidIdShouldSucceed() {
+    void deletePetWithValidIdShouldSucceed(@TestPet String testPetId) {
         given()
                 .header("api_key", "12")
                 .pathParam("petId", testPetId)
@@ -247,7 +266,7 @@ public class PetTest extends TestBase {
 
     @Test
     @DisplayName("POST /pet/{petId} - Обновление только статуса")
-    void updatePetStatusOnlyShouldSucceed() {
+    void updatePetStatusOnlyShouldSucceed(@TestPet String testPetId) {
         given()
                 .contentType(ContentType.URLENC)
                 .pathParam("petId", testPetId)
@@ -267,7 +286,7 @@ public class PetTest extends TestBase {
 
     @Test
     @DisplayName("POST /pet/{petId} - Обновление статуса и имени")
-    void updatePetStatusAndNameShouldSucceed() {
+    void updatePetStatusAndNameShouldSucceed(@TestPet String testPetId) {
         given()
                 .contentType(ContentType.URLENC)
                 .pathParam("petId", testPetId)
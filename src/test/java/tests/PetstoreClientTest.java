@@ -0,0 +1,112 @@
+package tests;
+
+import api.ApiException;
+import api.PetstoreClient;
+import generators.PetGenerator;
+import generators.StoreGenerator;
+import generators.UserGenerator;
+import io.restassured.RestAssured;
+import models.ApiResponse;
+import models.Category;
+import models.Order;
+import models.Pet;
+import models.Tag;
+import models.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+public class PetstoreClientTest extends TestBase {
+
+    private static final int IN_FLIGHT = 300;
+
+    private static PetstoreClient client;
+
+    @BeforeAll
+    static void createClient() {
+        assumeFalse(inProcess(), "the in-process backend has no socket for java.net.http to reach");
+        client = PetstoreClient.create(RestAssured.baseURI);
+    }
+
+    @AfterAll
+    static void closeClient() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("PetApi - Создание, поиск по статусу и удаление питомца")
+    void petLifecycle() {
+        Pet pet = pet(PetGenerator.generateUniqueId(), "sold");
+
+        Pet created = client.pets().create(pet).join();
+        assertThat(created.getId(), equalTo(pet.getId()));
+        assertThat(created.getName(), equalTo(pet.getName()));
+
+        List<Pet> sold = client.pets().findByStatus("sold").join();
+        assertThat(sold, hasItem(hasProperty("id", equalTo(pet.getId()))));
+
+        client.pets().delete(pet.getId()).join();
+        CompletionException missing = assertThrows(CompletionException.class, () -> client.pets().get(pet.getId()).join());
+        assertThat(missing.getCause(), instanceOf(ApiException.class));
+        assertThat(((ApiException) missing.getCause()).getStatusCode(), equalTo(404));
+    }
+
+    @Test
+    @DisplayName("StoreApi, UserApi - Заказ, инвентарь и вход пользователя")
+    void orderAndLogin() {
+        Order order = new Order(StoreGenerator.generateUniqueId().longValue(), PetGenerator.generateUniqueId().longValue(), 2,
+                "2024-01-01T00:00:00.000+0000", "placed", true);
+        User user = new User();
+        user.setId((long) PetGenerator.generateUniqueId());
+        user.setUsername(UserGenerator.generateUsername());
+        user.setPassword("testPass123");
+
+        CompletableFuture<Order> placed = client.store().placeOrder(order);
+        CompletableFuture<String> session = client.users().create(user)
+                .thenCompose(created -> client.users().login(user.getUsername(), user.getPassword()))
+                .thenApply(ApiResponse::getMessage);
+
+        assertThat(placed.join().getPetId(), equalTo(order.getPetId()));
+        assertThat(client.store().getOrder(order.getId()).join().getQuantity(), equalTo(2));
+        assertThat(client.store().inventory().join(), not(anEmptyMap()));
+        assertThat(session.join(), startsWith("logged in user session:"));
+        assertThat(client.users().get(user.getUsername()).join().getId(), equalTo(user.getId()));
+
+        client.store().deleteOrder(order.getId()).join();
+        client.users().delete(user.getUsername()).join();
+    }
+
+    @Test
+    @DisplayName("GET /store/inventory - Сотни запросов в полёте с одного потока клиента")
+    void hundredsOfRequestsInFlightFromOneThread() {
+        long before = client.getResponses();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(IN_FLIGHT);
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            inFlight.add(client.store().inventory());
+        }
+        assertThat("sendAsync must not wait for responses", inFlight.stream().filter(CompletableFuture::isDone).count(),
+                lessThan((long) IN_FLIGHT));
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+
+        System.out.printf("%d responses, %d over HTTP/2%n", client.getResponses() - before, client.getHttp2Responses());
+        assertThat(client.getResponses() - before, equalTo((long) IN_FLIGHT));
+    }
+
+    private static Pet pet(int id, String status) {
+        return new Pet((long) id, new Category(1L, "Dogs"), "Buddy_" + id, new String[]{"https://example.com/photo.jpg"},
+                new Tag[]{new Tag(1L, "friendly")}, status);
+    }
+}
@@ -0,0 +1,182 @@
+package tests;
+
+import client.ConnectionPool;
+import client.ResiliencePolicy;
+import client.ResilientHttpClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.config.LogConfig;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The hedging test compares p99s of a few dozen requests, which other classes on the same cores would blur.
+@Isolated
+public class ResilienceTest {
+
+    private static final int SLOW_EVERY = 10;
+    private static final long SLOW_MILLIS = 200;
+
+    private static HttpServer stub;
+    private static ExecutorService stubThreads;
+    private static final AtomicLong petRequests = new AtomicLong();
+    private static final AtomicBoolean stalling = new AtomicBoolean();
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stubThreads = Executors.newFixedThreadPool(16);
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(stubThreads);
+        // Every SLOW_EVERY-th pet lookup stalls, like a request landing on a slow instance.
+        stub.createContext("/v2/pet/", exchange -> {
+            if (petRequests.incrementAndGet() % SLOW_EVERY == 0 && stalling.get()) {
+                sleep(SLOW_MILLIS);
+            }
+            respond(exchange, 200, "{\"id\":1,\"name\":\"doggie\",\"status\":\"available\"}");
+        });
+        stub.createContext("/v2/store/inventory", exchange -> respond(exchange, 503, "{\"message\":\"overloaded\"}"));
+        stub.createContext("/v2/user/login", exchange -> {
+            sleep(2_000);
+            respond(exchange, 200, "{\"message\":\"logged in\"}");
+        });
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+        stubThreads.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Хеджирование медленных GET снижает p99")
+    void hedgingCutsTailLatency() {
+        // Half of the requests go out as a single attempt and measure what hedging saves the other half.
+        ResiliencePolicy policy = ResiliencePolicy.builder()
+                .deadline(Duration.ofSeconds(5))
+                .hedgePercentile(80)
+                .baselineSampleRate(0.5)
+                .build();
+        // The first lookups in the JVM pay for class loading, which no hedge can cut.
+        try (ConnectionPool warmUp = pool(policy)) {
+            for (int i = 0; i < 10; i++) {
+                spec(warmUp).pathParam("petId", i + 1).get("/pet/{petId}").then().statusCode(200);
+            }
+        }
+        try (ConnectionPool pool = pool(policy)) {
+            // Enough fast lookups first for the hedge delay to be known when the stalls start.
+            for (int i = 0; i < 30; i++) {
+                spec(pool).pathParam("petId", i + 1).get("/pet/{petId}").then().statusCode(200);
+            }
+            stalling.set(true);
+            try {
+                for (int i = 0; i < 120; i++) {
+                    spec(pool).pathParam("petId", i + 1).get("/pet/{petId}").then().statusCode(200);
+                }
+            } finally {
+                stalling.set(false);
+            }
+            ResilientHttpClient client = pool.getHttpClient();
+            System.out.println(client.format());
+
+            assertThat(client.getHedges(), greaterThan(0L));
+            assertThat(client.getHedgeWins(), greaterThan(0L));
+            assertThat(client.getRetries(), equalTo(0L));
+            // Losing attempts are aborted, so none of them keeps a connection leased.
+            assertThat(pool.getLeasedNow(), equalTo(0));
+            // One lookup in SLOW_EVERY stalls, so the single-attempt p99 is a stalled lookup.
+            double singleAttempt = client.latencies().get("single attempt").percentileMillis(99);
+            double delivered = client.latencies().get("delivered").percentileMillis(99);
+            assertThat(singleAttempt, greaterThanOrEqualTo((double) SLOW_MILLIS));
+            assertThat(delivered, lessThan(singleAttempt / 2));
+        }
+    }
+
+    @Test
+    @DisplayName("Бюджет повторов ограничивает повторы при перегрузке")
+    void retryBudgetCapsRetriesUnderOverload() {
+        ResiliencePolicy policy = ResiliencePolicy.builder()
+                .hedging(false)
+                .retryBackoff(Duration.ofMillis(1))
+                .budgetCapacity(5)
+                .budgetRatio(0.1)
+                .build();
+        try (ConnectionPool pool = pool(policy)) {
+            for (int i = 0; i < 50; i++) {
+                spec(pool).get("/store/inventory").then().statusCode(503);
+            }
+            ResilientHttpClient client = pool.getHttpClient();
+            System.out.println(client.format());
+
+            // 5 tokens to start with plus 0.1 per request: no more than 10 retries for 50 requests.
+            assertThat(client.getRetries(), allOf(greaterThan(0L), lessThanOrEqualTo(10L)));
+            assertThat(client.getBudgetDenials(), greaterThan(0L));
+        }
+    }
+
+    @Test
+    @DisplayName("Запрос без ответа прерывается по дедлайну")
+    void deadlineAbortsStalledRequest() {
+        ResiliencePolicy policy = ResiliencePolicy.builder().deadline(Duration.ofMillis(200)).build();
+        try (ConnectionPool pool = pool(policy)) {
+            spec(pool).pathParam("petId", 1).get("/pet/{petId}").then().statusCode(200);
+            long start = System.nanoTime();
+            assertThrows(Exception.class, () -> spec(pool).get("/user/login"));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertThat(pool.getHttpClient().getDeadlinesExceeded(), equalTo(1L));
+            assertThat(elapsedMillis, lessThan(1_500L));
+        }
+    }
+
+    private static ConnectionPool pool(ResiliencePolicy policy) {
+        return new ConnectionPool(20, 50, 30, 60, policy);
+    }
+
+    private static RequestSpecification spec(ConnectionPool pool) {
+        // No global filters: a suite-wide in-process backend must not answer instead of the stub.
+        // Logging on failure makes RestAssured read each body, which hands the connection back.
+        return given().noFilters()
+                .config(RestAssured.config()
+                        .httpClient(pool.httpClientConfig())
+                        .logConfig(LogConfig.logConfig().enableLoggingOfRequestAndResponseIfValidationFails()))
+                .baseUri("http://127.0.0.1:" + stub.getAddress().getPort() + "/v2");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package tests;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import scheduling.DurationHistory;
+import scheduling.ShardPlan;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class SchedulingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("История длительностей сглаживается и сохраняет записи, не попавшие в прогон")
+    void historyMergesNewMeasurements() throws IOException {
+        Path file = tempDir.resolve("durations");
+        DurationHistory.merge(file, Map.of("a.SlowTest", 1000.0, DurationHistory.methodKey("a.SlowTest", "run", ""), 900.0));
+        DurationHistory.merge(file, Map.of("a.SlowTest", 3000.0, "a.FastTest", 10.0));
+
+        DurationHistory history = DurationHistory.read(file);
+        assertThat(history.get("a.SlowTest").getAsDouble(), closeTo(2000, 0.1));
+        assertThat(history.get("a.SlowTest#run()").getAsDouble(), closeTo(900, 0.1));
+        assertThat(history.get("a.Missing").isPresent(), is(false));
+        assertThat(history.classNames(), containsInAnyOrder("a.SlowTest", "a.FastTest"));
+    }
+
+    @Test
+    @DisplayName("Шарды по истории сбалансированы и покрывают все классы ровно один раз")
+    void shardsAreBalancedAndDisjoint() throws IOException {
+        Path file = tempDir.resolve("durations");
+        long[] millis = {9000, 7000, 6000, 5000, 4000, 4000, 3000, 2000, 1000, 500, 200, 100};
+        Map<String, Double> measured = new HashMap<>();
+        for (int i = 0; i < millis.length; i++) {
+            measured.put("a.Test" + i, (double) millis[i]);
+        }
+        DurationHistory.merge(file, measured);
+        DurationHistory history = DurationHistory.read(file);
+        List<String> classes = new ArrayList<>(measured.keySet());
+        classes.add("a.NewTest");
+
+        ShardPlan plan = ShardPlan.of(classes, history, 3);
+        List<String> assigned = new ArrayList<>();
+        double total = 0;
+        double slowest = 0;
+        for (int shard = 0; shard < plan.shards(); shard++) {
+            assigned.addAll(plan.classes(shard));
+            total += plan.estimatedMillis(shard);
+            slowest = Math.max(slowest, plan.estimatedMillis(shard));
+        }
+        assertThat(assigned, containsInAnyOrder(classes.toArray()));
+        assertThat(slowest, lessThan(total / plan.shards() * 1.1));
+        assertThat(ShardPlan.of(classes, history, 3).classes(1), equalTo(plan.classes(1)));
+    }
+}
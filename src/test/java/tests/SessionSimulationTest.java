@@ -0,0 +1,32 @@
+package tests;
+
+import load.SessionReport;
+import load.SessionSimulator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Tag("load")
+public class SessionSimulationTest extends TestBase {
+
+    private static final int USERS = Integer.getInteger("sessions.users", 200);
+    private static final int CYCLES = Integer.getInteger("sessions.cycles", 2);
+    private static final Duration THINK_TIME = Duration.ofMillis(Long.getLong("sessions.thinkMillis", 50));
+    private static final Duration RAMP_UP = Duration.ofSeconds(Long.getLong("sessions.rampUpSeconds", 5));
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("sessions.maxInFlight", 32);
+
+    @Test
+    @DisplayName("GET /user/login, /user/logout - Параллельные пользовательские сессии на виртуальных потоках")
+    void concurrentUserSessions() throws InterruptedException {
+        SessionReport report = new SessionSimulator(USERS, CYCLES, THINK_TIME, RAMP_UP, MAX_IN_FLIGHT).run();
+        System.out.print(report.format());
+
+        assertThat(report.getCompletedSessions(), equalTo((long) USERS * CYCLES));
+        assertThat(report.getErrors(), equalTo(0L));
+    }
+}
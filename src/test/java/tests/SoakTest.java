@@ -0,0 +1,55 @@
+package tests;
+
+import client.ConnectionPool;
+import fixtures.TestUser;
+import load.LoadReport;
+import load.OpenModelLoadDriver;
+import load.PetstoreScenarios;
+import load.ResourceMonitor;
+import load.SoakReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Tag("soak")
+public class SoakTest extends TestBase {
+
+    private static final Duration DURATION = Duration.ofMinutes(Long.getLong("soak.durationMinutes", 60));
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("soak.warmUpSeconds", DURATION.toSeconds() / 6));
+    private static final Duration SAMPLE_INTERVAL = Duration.ofSeconds(Long.getLong("soak.sampleSeconds", 30));
+    private static final double RATE = Double.parseDouble(System.getProperty("soak.rate", "20"));
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("soak.maxInFlight", 100);
+    private static final double MAX_HEAP_GROWTH_MB_PER_HOUR =
+            Double.parseDouble(System.getProperty("soak.maxHeapGrowthMbPerHour", "32"));
+    private static final double MAX_FD_GROWTH_PER_HOUR = Double.parseDouble(System.getProperty("soak.maxFdGrowthPerHour", "10"));
+
+    @Test
+    @DisplayName("Soak - Сценарии Pet, Store и User без роста кучи и файловых дескрипторов")
+    void scenariosDoNotLeakOverTime(@TestUser String username) throws InterruptedException {
+        LoadReport load;
+        ResourceMonitor monitor = ResourceMonitor.start(SAMPLE_INTERVAL, "soak");
+        try (monitor) {
+            load = new OpenModelLoadDriver(PetstoreScenarios.all(username), RATE, DURATION, MAX_IN_FLIGHT).run();
+        }
+        SoakReport soak = monitor.report(WARM_UP);
+        System.out.print(load.format());
+        System.out.print(soak.format());
+        ConnectionPool pool = connectionPool();
+        if (pool != null) {
+            System.out.println(pool.format());
+        }
+
+        assertThat(load.getErrors(), equalTo(0L));
+        assertThat("retained heap growth, MB/h", soak.getHeapGrowthBytesPerHour() / 1048576.0,
+                lessThanOrEqualTo(MAX_HEAP_GROWTH_MB_PER_HOUR));
+        if (!Double.isNaN(soak.getFileDescriptorGrowthPerHour())) {
+            assertThat("open file descriptor growth per hour", soak.getFileDescriptorGrowthPerHour(),
+                    lessThanOrEqualTo(MAX_FD_GROWTH_PER_HOUR));
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package tests;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import fixtures.TestOrder;
 import generators.StoreGenerator;
-import io.restassured.response.Response;
-import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
+import metrics.EndpointHistograms;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -12,49 +12,18 @@ import java.util.Arrays;
 import java.util.Map;
 
 import static io.restassured.RestAssured.given;
+import static metrics.LatencyMatchers.p99Below;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 
 public class StoreTest extends TestBase {
 
-    private String testOrderId;
-
-    @BeforeEach
-    void createTestOrder() throws JsonProcessingException {
-        String order = StoreGenerator.generateTestOrder();
-        Response response = given()
-                .contentType("application/json")
-                .body(order)
-                .post("/store/order");
-
-        testOrderId = response.jsonPath().getString("id");
-
-        response.then()
-                .statusCode(200)
-                .body("id", notNullValue());
-
-        System.out.println("Created orderID: " + testOrderId);
-
+    @AfterAll
+    static void latencyWithinSla(EndpointHistograms latencies) {
+        latencies.snapshot().values().forEach(endpoint -> assertThat(endpoint, p99Below(SLA_P99_MILLIS)));
     }
 
-    @AfterEach
-    void cleanup() {
-        if (testOrderId != null && !testOrderId.isEmpty()) {
-            System.out.println("Cleaning up order ID: " + testOrderId);
-
-            Response response = given()
-                    .pathParam("orderId", testOrderId)
-                    .when()
-                    .delete("/store/order/{orderId}");
-
-            System.out.println("Cleanup status: " + response.getStatusCode());
-            testOrderId = null;
-        }
-    }
-
-
-
-
     @Test
     @DisplayName("GET /store/inventory - Получение списка заказов и статусов")
     void getInventoryShouldReturnSuccess() {
@@ -89,7 +58,7 @@ public class StoreTest extends TestBase {
 
     @Test
     @DisplayName("GET /store/order/{orderId} - Успешное получение заказа")
-    void getOrderByIdShouldReturnValidOrder() {
+    void getOrderByIdShouldReturnValidOrder(@TestOrder String testOrderId) {
         given()
                 .pathParam("orderId", testOrderId)
                 .when()
@@ -133,7 +102,7 @@ public class StoreTest extends TestBase {
 
     @Test
     @DisplayName("DELETE /store/order/{orderId} - успешный DELETE")
-    void DeleteOrderShouldSucceed() {
+    void DeleteOrderShouldSucceed(@TestOrder String testOrderId) {
         given()
                 .pathParam("orderId", testOrderId)
                 .when()
@@ -0,0 +1,133 @@
+package tests;
+
+import assertions.JsonArrayAssertions;
+import generators.PetGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+
+import static assertions.JsonArrayAssertions.jsonArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Isolated
+public class StreamingAssertionsTest {
+
+    private static final long ARRAY_BYTES = 100L * 1024 * 1024;
+    private static final long HEAP_SAMPLE_INTERVAL = 20L * 1024 * 1024;
+    private static final long MAX_RETAINED_GROWTH = 32L * 1024 * 1024;
+
+    @Test
+    @DisplayName("Потоковая проверка массива питомцев 100 МБ без роста кучи")
+    void validatesHundredMegabyteArrayInBoundedHeap() throws IOException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = retainedHeap(memory);
+        HeapSamplingInputStream in = new HeapSamplingInputStream(PetGenerator.streamPetArray(ARRAY_BYTES), memory);
+
+        long elements = jsonArray()
+                .everyItem("status", oneOf("available", "pending", "sold"))
+                .everyItem("name", matchesPattern("^[A-Za-z]+_[a-f0-9]{5}$"))
+                .everyItem("category.id", lessThan(100))
+                .hasKey("id")
+                .count(greaterThan(100_000L))
+                .verify(in);
+
+        long growth = in.maxRetained - baseline;
+        System.out.printf("Validated %d pets in %d MB; retained heap growth %.1f MB%n",
+                elements, in.bytesRead >> 20, growth / (1024.0 * 1024));
+        assertThat(in.bytesRead, greaterThanOrEqualTo(ARRAY_BYTES));
+        assertThat(growth, lessThan(MAX_RETAINED_GROWTH));
+    }
+
+    @Test
+    @DisplayName("Потоковая проверка останавливается на первом неверном элементе")
+    void failsFastOnFirstViolatingElement() {
+        byte[] violating = "[{\"id\":1,\"status\":\"sold\"},".getBytes(StandardCharsets.US_ASCII);
+        InputStream rest = PetGenerator.streamPetArray(ARRAY_BYTES);
+        // Drop the generated array's opening bracket so the two parts form one array.
+        CountingInputStream in = new CountingInputStream(new SequenceInputStream(new ByteArrayInputStream(violating),
+                new FilterInputStream(rest) {
+                    private boolean skipped;
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        if (!skipped) {
+                            skipped = true;
+                            super.read();
+                        }
+                        return super.read(b, off, len);
+                    }
+                }));
+
+        JsonArrayAssertions assertions = jsonArray().everyItem("status", is("available"));
+        AssertionError error = assertThrows(AssertionError.class, () -> assertions.verify(in));
+
+        assertThat(error.getMessage(), containsString("element [0] status"));
+        assertThat(in.bytesRead, lessThan(1024L * 1024));
+    }
+
+    private static long retainedHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        long bytesRead;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                bytesRead += n;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Measures heap retained after a full GC every {@link #HEAP_SAMPLE_INTERVAL} bytes read.
+     */
+    private static class HeapSamplingInputStream extends CountingInputStream {
+        private final MemoryMXBean memory;
+        private long nextSample = HEAP_SAMPLE_INTERVAL;
+        long maxRetained;
+
+        HeapSamplingInputStream(InputStream in, MemoryMXBean memory) {
+            super(in);
+            this.memory = memory;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (bytesRead >= nextSample) {
+                nextSample += HEAP_SAMPLE_INTERVAL;
+                maxRetained = Math.max(maxRetained, retainedHeap(memory));
+            }
+            return n;
+        }
+    }
+}
@@ -1,12 +1,165 @@
 package tests;
 
+import cassette.Cassette;
+import cassette.CassetteWriter;
+import cassette.RecordFilter;
+import cassette.ReplayFilter;
+import client.ConnectionPool;
+import emulator.InProcessFilter;
+import emulator.PetstoreBackend;
+import emulator.PetstoreEmulator;
+import fixtures.FixtureExtension;
+import generators.GenerationContext;
 import io.restassured.RestAssured;
+import io.restassured.config.LogConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import jfr.HttpEventFilter;
+import metrics.LatencyExtension;
+import metrics.LatencyFilter;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@ExtendWith({FixtureExtension.class, LatencyExtension.class})
 public class TestBase {
+    private static final String DEFAULT_BASE_URI = "https://petstore.swagger.io/v2";
+    private static final String EMULATOR_PROPERTY = "petstore.emulator";
+    private static final String IN_PROCESS = "inprocess";
+    private static final String POOL_PROPERTY = "http.pool.enabled";
+    private static final String CASSETTE_MODE_PROPERTY = "petstore.cassette.mode";
+    private static final String CASSETTE_PROPERTY = "petstore.cassette";
+
+    /**
+     * Per-class p99 latency budget for the SLA checks, override with -Dsla.p99Millis.
+     */
+    protected static final double SLA_P99_MILLIS = Double.parseDouble(System.getProperty("sla.p99Millis", "3000"));
+
+    private static ConnectionPool connectionPool;
+    private static boolean configured;
+
     @BeforeAll
-    static void setup() {
-        RestAssured.baseURI = "https://petstore.swagger.io/v2";
-        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+    static void setup() throws IOException {
+        configureRestAssured();
+    }
+
+    /**
+     * Sets up RestAssured's global state once per JVM. Test classes run concurrently and
+     * {@code RestAssured.config} is a plain static field, so every change to it happens here,
+     * under one lock and in a single assignment.
+     */
+    private static synchronized void configureRestAssured() throws IOException {
+        if (configured) {
+            return;
+        }
+        if (inProcess()) {
+            RestAssured.baseURI = InProcessFilter.BASE_URI;
+            RestAssured.filters(new InProcessFilter(new PetstoreBackend()));
+        } else {
+            RestAssured.baseURI = Boolean.getBoolean(EMULATOR_PROPERTY) ? startEmulator().getBaseUri() : DEFAULT_BASE_URI;
+        }
+        RestAssured.filters(LatencyFilter.global(), HttpEventFilter.global());
+        String cassetteMode = System.getProperty(CASSETTE_MODE_PROPERTY);
+        if (cassetteMode != null) {
+            installCassette(cassetteMode, Paths.get(System.getProperty(CASSETTE_PROPERTY, "target/petstore.cassette")));
+        }
+        RestAssuredConfig config = RestAssured.config()
+                .logConfig(LogConfig.logConfig().enableLoggingOfRequestAndResponseIfValidationFails());
+        if (!inProcess() && Boolean.parseBoolean(System.getProperty(POOL_PROPERTY, "true"))) {
+            config = config.httpClient(startConnectionPool().httpClientConfig());
+        }
+        RestAssured.config = config;
+        configured = true;
+    }
+
+    /**
+     * True with -Dpetstore.emulator=inprocess: requests are answered by an in-JVM backend and
+     * never open a socket.
+     */
+    protected static boolean inProcess() {
+        return IN_PROCESS.equals(System.getProperty(EMULATOR_PROPERTY));
+    }
+
+    /**
+     * The pool all RestAssured requests go through, or null when disabled with -Dhttp.pool.enabled=false.
+     */
+    protected static synchronized ConnectionPool connectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Config for JSON bodies given as an InputStream: RestAssured sends them as a chunked
+     * stream instead of reading the whole stream into memory first.
+     */
+    protected static RestAssuredConfig streamingJsonConfig() {
+        RestAssuredConfig config = RestAssured.config();
+        return config.encoderConfig(config.getEncoderConfig().encodeContentTypeAs("application/json", ContentType.BINARY));
+    }
+
+    /**
+     * Config for responses consumed as a stream: logging on validation failure needs the whole
+     * body buffered, so it is switched off and {@code asInputStream()} returns the socket stream.
+     */
+    protected static RestAssuredConfig streamingResponseConfig() {
+        return RestAssured.config().logConfig(LogConfig.logConfig());
+    }
+
+    /**
+     * "record" appends every live request/response to the cassette file; "replay" answers all
+     * requests from it without a backend, generating data from the seed the cassette was recorded
+     * with. Both modes need the tests to run in the same order on one thread (the cassette profile).
+     */
+    private static void installCassette(String mode, Path file) throws IOException {
+        switch (mode) {
+            case "record":
+                CassetteWriter writer = new CassetteWriter(file, GenerationContext.global().getSeed());
+                RestAssured.filters(new RecordFilter(writer));
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        writer.close();
+                    } catch (IOException ignored) {
+                    }
+                }));
+                break;
+            case "replay":
+                Cassette cassette = Cassette.open(file);
+                if (System.getProperty(GenerationContext.SEED_PROPERTY) == null) {
+                    System.setProperty(GenerationContext.SEED_PROPERTY, Long.toString(cassette.getSeed()));
+                }
+                if (GenerationContext.global().getSeed() != cassette.getSeed()) {
+                    cassette.close();
+                    throw new IllegalStateException(file + " was recorded with generator seed " + cassette.getSeed()
+                            + ", replay with -D" + GenerationContext.SEED_PROPERTY + "=" + cassette.getSeed());
+                }
+                RestAssured.filters(new ReplayFilter(cassette));
+                System.out.println("Replaying " + cassette.size() + " recorded responses from " + file);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown " + CASSETTE_MODE_PROPERTY + ": " + mode);
+        }
+    }
+
+    private static ConnectionPool startConnectionPool() {
+        ConnectionPool pool = new ConnectionPool();
+        connectionPool = pool;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println(pool.format());
+            pool.close();
+        }));
+        return pool;
+    }
+
+    private static PetstoreEmulator startEmulator() throws IOException {
+        PetstoreEmulator started = PetstoreEmulator.start(0);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                started.close();
+            } catch (IOException ignored) {
+            }
+        }));
+        return started;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package tests;
+
+import client.ZeroCopyUpload;
+import fixtures.TestPet;
+import generators.ImageGenerator;
+import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Tag("load")
+public class UploadThroughputTest extends TestBase {
+
+    private static final long IMAGE_BYTES = Long.getLong("upload.sizeMb", 16) * 1024 * 1024;
+    private static final int CONCURRENCY = Integer.getInteger("upload.concurrency", 4);
+    private static final int UPLOADS_PER_THREAD = Integer.getInteger("upload.perThread", 4);
+    private static final long MAX_ZERO_COPY_ALLOCATION = 1024 * 1024;
+
+    @FunctionalInterface
+    private interface Uploader {
+        int upload(String petId, Path image) throws Exception;
+    }
+
+    @Test
+    @DisplayName("POST /pet/{petId}/uploadImage - Пропускная способность параллельной загрузки через FileChannel.transferTo")
+    void zeroCopyUploadThroughput(@TestPet String testPetId) throws Exception {
+        URI baseUri = URI.create(RestAssured.baseURI);
+        assumeTrue("http".equals(baseUri.getScheme()), "zero-copy upload needs a plain http backend");
+        Path image = ImageGenerator.createTempPng(IMAGE_BYTES);
+
+        long allocatedPerUpload = run("transferTo", testPetId, image,
+                (petId, file) -> ZeroCopyUpload.upload(baseUri, petId, "throughput", file).getStatusCode());
+
+        assertThat(allocatedPerUpload, lessThan(MAX_ZERO_COPY_ALLOCATION));
+    }
+
+    @Test
+    @DisplayName("POST /pet/{petId}/uploadImage - Загрузка сгенерированного изображения 4 МБ без копирования в кучу")
+    void zeroCopyUploadOfLargeImageReportsItsSize(@TestPet String testPetId) throws IOException {
+        URI baseUri = URI.create(RestAssured.baseURI);
+        assumeTrue("http".equals(baseUri.getScheme()), "zero-copy upload needs a plain http backend");
+        Path image = ImageGenerator.createTempPng(4L * 1024 * 1024);
+        long size = Files.size(image);
+        assertThat(ImageIO.read(image.toFile()).getWidth(), equalTo(1024));
+
+        ZeroCopyUpload.Response response = ZeroCopyUpload.upload(baseUri, testPetId, "large image", image);
+
+        assertThat(response.getStatusCode(), equalTo(200));
+        assertThat(JsonPath.from(response.getBody()).getString("message"),
+                containsString(image.getFileName() + ", " + size + " bytes"));
+    }
+
+    @Test
+    @DisplayName("POST /pet/{petId}/uploadImage - Пропускная способность параллельной загрузки через RestAssured multipart")
+    void restAssuredUploadThroughput(@TestPet String testPetId) throws Exception {
+        Path image = ImageGenerator.createTempPng(IMAGE_BYTES);
+
+        run("RestAssured", testPetId, image, (petId, file) -> given()
+                .pathParam("petId", petId)
+                .multiPart("additionalMetadata", "throughput")
+                .multiPart("file", file.toFile())
+                .when()
+                .post("/pet/{petId}/uploadImage")
+                .statusCode());
+    }
+
+    /**
+     * Runs the uploads concurrently, prints throughput and heap figures and returns the
+     * average bytes allocated on the uploading thread per upload.
+     */
+    private static long run(String name, String petId, Path image, Uploader uploader) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long size = Files.size(image);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < CONCURRENCY; t++) {
+                results.add(executor.submit(() -> {
+                    long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                    for (int i = 0; i < UPLOADS_PER_THREAD; i++) {
+                        assertThat(uploader.upload(petId, image), equalTo(200));
+                    }
+                    return threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                }));
+            }
+            long allocated = 0;
+            for (Future<Long> result : results) {
+                allocated += result.get(10, TimeUnit.MINUTES);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            int uploads = CONCURRENCY * UPLOADS_PER_THREAD;
+            long allocatedPerUpload = allocated / uploads;
+            System.out.printf("%s: %d x %.1f MB uploads on %d threads in %.2fs = %.1f MB/s; "
+                            + "client allocation %.1f KB/upload; heap used %.1f MB%n",
+                    name, uploads, size / 1048576.0, CONCURRENCY, seconds, uploads * size / 1048576.0 / seconds,
+                    allocatedPerUpload / 1024.0, memory.getHeapMemoryUsage().getUsed() / 1048576.0);
+            return allocatedPerUpload;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
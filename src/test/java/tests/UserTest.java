@@ -1,11 +1,11 @@
 package tests;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import fixtures.TestUser;
 import generators.UserGenerator;
 import io.restassured.http.ContentType;
-import io.restassured.response.Response;
-import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
+import metrics.EndpointHistograms;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -18,52 +18,20 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
+import static metrics.LatencyMatchers.p99Below;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 
 public class UserTest extends TestBase {
 
-    private  String testUsername;
+    private static final int USER_BATCH_SIZE = Integer.getInteger("user.batchSize", 2);
 
-    private String testUser;
-
-    @BeforeEach
-    void createTestUser() throws JsonProcessingException {
-        testUser = UserGenerator.generateTestUser();
-        Response response = given()
-                .contentType("application/json")
-                .body(testUser)
-                .post("/user");
-
-
-        String createdId = response.jsonPath().getString("message");
-        testUsername = "testuser";
-
-        response.then()
-                .statusCode(200)
-                .body("message", notNullValue());
-    }
-
-    @AfterEach
-    void cleanup() {
-        if (testUsername != null && !testUsername.isEmpty()) {
-            System.out.println("Cleaning up user: " + testUsername);
-
-            try {
-                given()
-                        .pathParam("username", testUsername)
-                        .when()
-                        .delete("/user/{username}")
-                        .then()
-                        .statusCode(anyOf(is(200), is(404)));
-            } catch (Exception e) {
-                System.err.println("Error during cleanup: " + e.getMessage());
-            }
-        }
-        testUsername = null;
+    @AfterAll
+    static void latencyWithinSla(EndpointHistograms latencies) {
+        latencies.snapshot().values().forEach(endpoint -> assertThat(endpoint, p99Below(SLA_P99_MILLIS)));
     }
 
-
     @Test
     @DisplayName("POST /user - Успешное добавление пользователя")
     void createUserShouldReturnSuccess() throws JsonProcessingException {
@@ -81,12 +49,11 @@ public class UserTest extends TestBase {
 
     @Test
     @DisplayName("POST /user/createWithArray - Успешное добавление нескольких пользователей")
-    void createUsersWithArrayShouldReturnSuccess() throws JsonProcessingException {
-        String usersArray = UserGenerator.generateUserArrayJson(2);
+    void createUsersWithArrayShouldReturnSuccess() {
         given()
+                .config(streamingJsonConfig())
                 .contentType("application/json")
-                .body(usersArray)
-                .log().all()
+                .body(UserGenerator.streamUserArray(USER_BATCH_SIZE))
                 .when()
                 .post("/user/createWithArray")
                 .then()
@@ -102,13 +69,13 @@ public class UserTest extends TestBase {
 
     @Test
     @DisplayName("GET /user/login - Успешный вход пользователя")
-    void loginUserWithCorrectDataShouldReturnSuccess() {
+    void loginUserWithCorrectDataShouldReturnSuccess(@TestUser String testUsername) {
         String requestBody = """
                 {
-                    "username": "testuser",
+                    "username": "%s",
                     "password": "testPass123"
                 }
-                """;
+                """.formatted(testUsername);
 
         given()
                 .contentType("application/json")
@@ -144,7 +111,7 @@ public class UserTest extends TestBase {
 
     @Test
     @DisplayName("DELETE /user/{username} - Успешное удаление пользователя")
-    void deleteUserShouldReturnSuccess() {
+    void deleteUserShouldReturnSuccess(@TestUser String testUsername) {
         String name = testUsername;
         given()
                 .pathParam("username", name)
@@ -161,7 +128,7 @@ public class UserTest extends TestBase {
     @Test
     @DisplayName("DELETE /user/{username} - Пользователь не найден (404)")
     void deleteNonExistentUserShouldReturnNotFound() {
-        String nonExistentUsername = "nonexistentuser" + System.currentTimeMillis();
+        String nonExistentUsername = UserGenerator.generateUsername();
         given()
                 .pathParam("username", nonExistentUsername)
                 .when()
@@ -174,7 +141,7 @@ public class UserTest extends TestBase {
 
     @Test
     @DisplayName("GET /user/{username} - Успешное получение пользователя")
-    void getUserByUsernameShouldReturnValidData() {
+    void getUserByUsernameShouldReturnValidData(@TestUser String testUsername) {
         given()
                 .pathParam("username", testUsername)
                 .when()
@@ -209,7 +176,7 @@ public class UserTest extends TestBase {
 
     private static Stream<Arguments> nonExistentUsernamesProvider() {
         return Stream.of(
-                Arguments.of("user" + System.currentTimeMillis())
+                Arguments.of(UserGenerator.generateUsername())
         );
     }
 
@@ -232,7 +199,7 @@ public class UserTest extends TestBase {
 
     @Test
     @DisplayName("PUT /user/{username} - Успешное изменение данных пользователя")
-    void updateExistingUser() throws JsonProcessingException {
+    void updateExistingUser(@TestUser String testUsername) throws JsonProcessingException {
         String newUser = UserGenerator.generateRandomUser();
         given()
                 .contentType(ContentType.JSON)